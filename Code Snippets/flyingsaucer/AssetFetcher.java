@@ -0,0 +1,28 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Represents the AssetFetcher interface in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class AssetFetcher
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Loads the raw bytes of an asset referenced by a document. Used by {@link AssetPrefetcher}; swap in a
+ * local stand-in to render without network access.
+ * @notes <ul>
+ * <li>Implementations must be thread safe; the prefetcher calls them concurrently.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+@FunctionalInterface
+public interface AssetFetcher {
+
+    byte[] fetch(URI uri) throws IOException;
+}
@@ -0,0 +1,175 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ImageCache;
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents the AssetPrefetcher class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class AssetPrefetcher
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Loads and decodes the images a document references concurrently, before layout starts, so the
+ * layout engine never waits on I/O when it reaches a replaced element.
+ * @notes <ul>
+ * <li>Local files are decoded into the shared {@link ImageCache}, where the replaced element factories find them.
+ * Remote ({@code http(s):}) images are returned to the caller, which hands them to the factory for this
+ * render.</li>
+ * <li>An asset that cannot be loaded is logged and left out; the factory then handles it the way it handles any
+ * unreadable image.</li>
+ * <li>Waiting honours the render's {@link RenderGuard}; a fetch itself is bounded by its {@link AssetFetcher}.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class AssetPrefetcher {
+
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(AssetPrefetcher.class);
+
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AssetFetcher fetcher;
+    private final ImageCache imageCache;
+    private final Executor executor;
+
+    public AssetPrefetcher(AssetFetcher fetcher, ImageCache imageCache, Executor executor) {
+        this.fetcher = fetcher;
+        this.imageCache = imageCache;
+        this.executor = executor;
+    }
+
+    public static AssetPrefetcher getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Loads all assets concurrently and waits for them.
+     *
+     * @return the decoded remote images by URI; local files are only warmed in the image cache
+     */
+    public Map<URI, Image> prefetch(Collection<URI> assets) throws InterruptedIOException {
+        return prefetch(assets, RenderGuard.unbounded());
+    }
+
+    /**
+     * Same as {@link #prefetch(Collection)}, but stops waiting with {@link RenderAbortedException} as soon as the
+     * guard is cancelled or its deadline passes. Loads still in flight are abandoned, not interrupted.
+     */
+    public Map<URI, Image> prefetch(Collection<URI> assets, RenderGuard guard) throws InterruptedIOException {
+        Map<URI, CompletableFuture<Image>> loads = new LinkedHashMap<>();
+        for (URI asset : assets) {
+            loads.computeIfAbsent(asset, uri -> CompletableFuture.supplyAsync(() -> load(uri), executor));
+        }
+        Map<URI, Image> images = new HashMap<>();
+        try {
+            for (Map.Entry<URI, CompletableFuture<Image>> load : loads.entrySet()) {
+                Image image = await(load.getKey(), load.getValue(), guard);
+                if (image != null) {
+                    images.put(load.getKey(), image);
+                }
+            }
+        } catch (RuntimeException | InterruptedIOException e) {
+            loads.values().forEach(load -> load.cancel(false));
+            throw e;
+        }
+        return images;
+    }
+
+    /**
+     * @return the loaded image, or {@code null} for local files and for loads that failed
+     */
+    private static Image await(URI uri, CompletableFuture<Image> load, RenderGuard guard) throws InterruptedIOException {
+        try {
+            guard.checkpoint();
+            // Cancellation is only a flag, so wait in slices to notice it
+            while (true) {
+                try {
+                    return load.get(Math.min(guard.remainingNanos(), WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    guard.checkpoint();
+                }
+            }
+        } catch (ExecutionException e) {
+            log.warn("Unable to prefetch asset {}", uri, e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while prefetching assets");
+        }
+    }
+
+    private Image load(URI uri) {
+        try {
+            if ("file".equals(uri.getScheme())) {
+                imageCache.getImage(Paths.get(uri));
+                return null;
+            }
+            return Image.getInstance(fetcher.fetch(uri));
+        } catch (IOException | BadElementException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    public static boolean isRemote(String reference) {
+        return reference.regionMatches(true, 0, "http://", 0, 7) || reference.regionMatches(true, 0, "https://", 0, 8);
+    }
+
+    /**
+     * Resolves an image reference the way the replaced element factories do: remote URLs as they are, anything else
+     * as a file relative to {@code baseDirectory}.
+     *
+     * @return the asset URI, or {@code null} for inline ({@code data:}) or unresolvable references
+     */
+    public static URI toUri(String reference, Path baseDirectory) {
+        if (reference.isEmpty() || DataUriImages.isDataUri(reference)) {
+            return null;
+        }
+        try {
+            return isRemote(reference) ? URI.create(reference) : baseDirectory.resolve(reference).normalize().toUri();
+        } catch (IllegalArgumentException | InvalidPathException e) {
+            return null;
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(DEFAULT_CONCURRENCY, runnable -> {
+            Thread thread = new Thread(runnable, "html-to-pdf-prefetch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private static final AssetPrefetcher INSTANCE =
+                new AssetPrefetcher(new DefaultAssetFetcher(), ImageCache.getDefault(), EXECUTOR);
+    }
+}
@@ -0,0 +1,251 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Represents the BatchHtmlToPdf class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class BatchHtmlToPdf
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Runs a stream of HTML-to-PDF jobs over a bounded worker pool and returns their results as a stream,
+ * either in submission order or in completion order.
+ * @notes <ul>
+ * <li>Jobs are pulled from the input only while fewer than {@code maxInFlight} are queued, running or waiting for
+ * the consumer to take their result.</li>
+ * <li>The deadline of a job starts when a worker picks it up. An overdue render is aborted by the renderer
+ * itself, which frees the worker, and the job is reported as timed out.</li>
+ * <li>A failed or timed out job is reported in the results and never aborts the rest of the batch.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class BatchHtmlToPdf implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchHtmlToPdf.class);
+
+    private static final AtomicInteger BATCH_COUNTER = new AtomicInteger();
+
+    private final HtmlPdfRenderer renderer;
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final Duration jobDeadline;
+
+    /**
+     * @param renderer an in-process {@link HtmlToPdf} or a
+     *                 {@link com.io.chenosis.digitalcertificate.service.flyingsaucer.worker.RenderWorkerFarm}
+     */
+    public BatchHtmlToPdf(HtmlPdfRenderer renderer, int workerCount, int maxInFlight, Duration jobDeadline) {
+        if (workerCount < 1 || maxInFlight < workerCount) {
+            throw new IllegalArgumentException("Need at least one worker and maxInFlight >= workerCount");
+        }
+        this.renderer = Objects.requireNonNull(renderer, "renderer");
+        this.jobDeadline = Objects.requireNonNull(jobDeadline, "jobDeadline");
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Starts converting the jobs in the background. The returned stream blocks until the next result is available
+     * and ends once every job has been reported.
+     *
+     * @param ordered {@code true} to receive results in the order the jobs were supplied, {@code false} to receive
+     *                them as soon as they finish
+     */
+    public Stream<JobResult> convert(Stream<Job> jobs, boolean ordered) {
+        ResultIterator results = new ResultIterator(ordered, maxInFlight);
+        Thread feeder = new Thread(() -> feed(jobs, results), "pdf-batch-feeder-" + BATCH_COUNTER.incrementAndGet());
+        feeder.setDaemon(true);
+        feeder.start();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private void feed(Stream<Job> jobs, ResultIterator results) {
+        long index = 0;
+        try {
+            Iterator<Job> it = jobs.iterator();
+            while (it.hasNext()) {
+                results.awaitCapacity();
+                Job job = it.next();
+                long jobIndex = index++;
+                workers.execute(() -> run(jobIndex, job, results));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            results.abort(e);
+        } catch (RuntimeException e) {
+            results.abort(e);
+        } finally {
+            results.complete(index);
+        }
+    }
+
+    /**
+     * The status is decided once, from the outcome of the render itself, so a job that finishes just at its
+     * deadline is reported as completed and keeps its output.
+     */
+    private void run(long index, Job job, ResultIterator results) {
+        long start = System.nanoTime();
+        Status status = Status.COMPLETED;
+        Exception error = null;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.destination()))) {
+            renderer.writePdf(job.html(), out, jobDeadline);
+        } catch (RenderAbortedException e) {
+            status = e.getReason() == RenderAbortedException.Reason.DEADLINE_EXCEEDED ? Status.TIMED_OUT : Status.FAILED;
+            error = e;
+        } catch (Exception e) {
+            status = Status.FAILED;
+            error = e;
+        }
+        results.add(new JobResult(index, job, status, elapsedMillis(start), error));
+        if (error != null) {
+            log.warn("PDF batch job {} for {} did not complete: {}", index, job.destination(), status, error);
+            deleteQuietly(job.destination());
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (Exception e) {
+            log.warn("Unable to delete incomplete PDF {}", path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    public record Job(String html, Path destination) {
+    }
+
+    public record JobResult(long index, Job job, Status status, long elapsedMillis, Exception error) {
+    }
+
+    public enum Status {
+        COMPLETED, FAILED, TIMED_OUT
+    }
+
+    /**
+     * Hands results from the workers to the consuming thread, reordering them when requested.
+     */
+    private static final class ResultIterator implements Iterator<JobResult> {
+
+        private static final JobResult WAKE_UP = new JobResult(-1, null, null, 0, null);
+
+        private final boolean ordered;
+        /**
+         * One permit per job that is queued, running or finished but not yet handed to the consumer, so a slow
+         * consumer holds back the feeder instead of letting results pile up.
+         */
+        private final Semaphore capacity;
+        private final BlockingQueue<JobResult> queue = new LinkedBlockingQueue<>();
+        private final Map<Long, JobResult> pending = new HashMap<>();
+
+        private volatile long total = -1;
+        private volatile RuntimeException failure;
+        private long emitted;
+        private JobResult next;
+
+        private ResultIterator(boolean ordered, int maxInFlight) {
+            this.ordered = ordered;
+            this.capacity = new Semaphore(maxInFlight);
+        }
+
+        void awaitCapacity() throws InterruptedException {
+            capacity.acquire();
+        }
+
+        void add(JobResult result) {
+            queue.add(result);
+        }
+
+        void complete(long jobCount) {
+            total = jobCount;
+            queue.add(WAKE_UP);
+        }
+
+        void abort(Exception cause) {
+            failure = new IllegalStateException("Reading the batch job stream failed", cause);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (ordered && pending.containsKey(emitted)) {
+                    next = pending.remove(emitted);
+                    break;
+                }
+                if (total >= 0 && emitted == total) {
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return false;
+                }
+                JobResult result = take();
+                if (result == WAKE_UP) {
+                    continue;
+                }
+                if (ordered) {
+                    pending.put(result.index(), result);
+                } else {
+                    next = result;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public JobResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JobResult result = next;
+            next = null;
+            emitted++;
+            capacity.release();
+            return result;
+        }
+
+        private JobResult take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch results", e);
+            }
+        }
+    }
+}
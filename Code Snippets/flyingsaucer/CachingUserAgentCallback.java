@@ -0,0 +1,212 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ResourceCache;
+import com.lowagie.text.Image;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xhtmlrenderer.pdf.ITextFSImage;
+import org.xhtmlrenderer.pdf.ITextOutputDevice;
+import org.xhtmlrenderer.pdf.ITextUserAgent;
+import org.xhtmlrenderer.resource.CSSResource;
+import org.xhtmlrenderer.resource.ImageResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the CachingUserAgentCallback class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class CachingUserAgentCallback
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description User agent that resolves relative URLs against a configurable base (a classpath or file system
+ * directory) and serves stylesheets and images from a {@link ResourceCache} shared by all renders.
+ * @notes <ul>
+ * <li>The default base is used whenever a document is set without a base URL of its own.</li>
+ * <li>Stylesheet bytes come from the shared cache; the parsed sheet is additionally kept by the renderer's own
+ * stylesheet factory until one of the files it was parsed from changes.</li>
+ * <li>Images are decoded once; every use gets a copy scaled to the output resolution.</li>
+ * <li>Entries for {@code file:} URLs are keyed by URL and modification time, so edited files are picked up.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class CachingUserAgentCallback extends ITextUserAgent {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingUserAgentCallback.class);
+
+    private final ResourceCache resourceCache;
+    private final String defaultBaseUrl;
+
+    /**
+     * Modification time of every {@code file:} stylesheet served to the renderer, by resolved URL.
+     */
+    private final Map<String, Long> stylesheetVersions = new HashMap<>();
+
+    public CachingUserAgentCallback(ITextOutputDevice outputDevice, ResourceCache resourceCache, String defaultBaseUrl) {
+        super(outputDevice);
+        this.resourceCache = resourceCache;
+        this.defaultBaseUrl = defaultBaseUrl;
+        if (defaultBaseUrl != null) {
+            super.setBaseURL(defaultBaseUrl);
+        }
+    }
+
+    /**
+     * Base URL for templates and assets packaged under {@code directory} on the classpath.
+     */
+    public static String classpathBase(String directory) {
+        URL url = CachingUserAgentCallback.class.getClassLoader().getResource(directory);
+        if (url == null) {
+            throw new IllegalArgumentException("Classpath directory not found: " + directory);
+        }
+        String base = url.toExternalForm();
+        return base.endsWith("/") ? base : base + "/";
+    }
+
+    /**
+     * Base URL for templates and assets stored under {@code directory} on the file system.
+     */
+    public static String directoryBase(Path directory) {
+        return directory.toAbsolutePath().normalize().toUri().toString();
+    }
+
+    /**
+     * Resolves {@code uri} against {@code baseUrl} like the renderer does, or against the working directory when
+     * there is no base.
+     *
+     * @return the absolute URL, or {@code null} when {@code uri} cannot be resolved
+     */
+    static String resolve(String baseUrl, String uri) {
+        try {
+            URL base = baseUrl != null ? new URL(baseUrl) : Paths.get("").toAbsolutePath().toUri().toURL();
+            return new URL(base, uri).toExternalForm();
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void setBaseURL(String url) {
+        super.setBaseURL(url != null ? url : defaultBaseUrl);
+    }
+
+    @Override
+    public CSSResource getCSSResource(String uri) {
+        String resolved = resolveURI(uri);
+        if (resolved == null) {
+            return super.getCSSResource(uri);
+        }
+        Long modified = lastModified(resolved);
+        if (modified != null) {
+            stylesheetVersions.put(resolved, modified);
+        }
+        String key = cacheKey(resolved, modified);
+        byte[] css = resourceCache.getStylesheets().get(key);
+        if (css == null) {
+            css = load(resolved);
+            if (css == null) {
+                return new CSSResource(null);
+            }
+            resourceCache.getStylesheets().put(key, css, css.length);
+        }
+        return new CSSResource(new ByteArrayInputStream(css));
+    }
+
+    @Override
+    public ImageResource getImageResource(String uri) {
+        String resolved = resolveURI(uri);
+        if (resolved == null) {
+            return super.getImageResource(uri);
+        }
+        String key = cacheKey(resolved, lastModified(resolved));
+        Image image = resourceCache.getImages().get(key);
+        try {
+            if (image == null) {
+                byte[] bytes = load(resolved);
+                if (bytes == null) {
+                    return new ImageResource(resolved, null);
+                }
+                image = Image.getInstance(bytes);
+                resourceCache.getImages().put(key, image, bytes.length);
+            }
+            Image copy = Image.getInstance(image);
+            scaleToOutputResolution(copy);
+            return new ImageResource(resolved, new ITextFSImage(copy));
+        } catch (Exception e) {
+            log.warn("Unable to load image {}", resolved, e);
+            return new ImageResource(resolved, null);
+        }
+    }
+
+    /**
+     * Whether a {@code file:} stylesheet served by this user agent has been modified since, in which case the
+     * renderer's parsed copy of it is out of date.
+     */
+    boolean hasModifiedStylesheets() {
+        for (Map.Entry<String, Long> served : stylesheetVersions.entrySet()) {
+            if (!served.getValue().equals(lastModified(served.getKey()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called once the renderer has dropped its parsed stylesheets.
+     */
+    void forgetStylesheets() {
+        stylesheetVersions.clear();
+    }
+
+    /**
+     * Edited files get a new key, so they are loaded again instead of being served from the shared cache.
+     */
+    private static String cacheKey(String resolved, Long lastModified) {
+        return lastModified == null ? resolved : resolved + '@' + lastModified;
+    }
+
+    /**
+     * @return the modification time of a {@code file:} URL, or {@code null} for other URLs and missing files
+     */
+    private static Long lastModified(String resolved) {
+        if (!resolved.startsWith("file:")) {
+            return null;
+        }
+        try {
+            return Files.getLastModifiedTime(Paths.get(URI.create(resolved))).toMillis();
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private void scaleToOutputResolution(Image image) {
+        float factor = getSharedContext().getDotsPerPixel();
+        if (factor != 1.0f) {
+            image.scaleAbsolute(image.getPlainWidth() * factor, image.getPlainHeight() * factor);
+        }
+    }
+
+    private byte[] load(String resolved) {
+        try (InputStream in = resolveAndOpenStream(resolved)) {
+            return in == null ? null : IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            log.warn("Unable to load resource {}", resolved, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.xhtmlrenderer.extend.ReplacedElement;
+import org.xhtmlrenderer.extend.ReplacedElementFactory;
+import org.xhtmlrenderer.extend.UserAgentCallback;
+import org.xhtmlrenderer.layout.LayoutContext;
+import org.xhtmlrenderer.render.BlockBox;
+import org.xhtmlrenderer.simple.extend.FormSubmissionListener;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Represents the ConversionPipeline class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class ConversionPipeline
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Single HTML-to-PDF conversion path with explicit parse, normalise, DOM build, asset prefetch,
+ * layout and PDF write stages. The Jsoup document is handed to the renderer as a W3C DOM and is never serialised
+ * back to markup.
+ * @notes <ul>
+ * <li>Every stage runs on the calling thread, so per-thread allocation counters give the allocation of the stage.
+ * The prefetch stage is the exception: its loads run on the prefetcher's threads and only its wall time is
+ * meaningful.</li>
+ * <li>Parsing, normalising and the prefetch need no renderer and run before one is borrowed from the pool, so no
+ * renderer sits idle while assets load.</li>
+ * <li>Metrics are returned to the caller and logged at debug level.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class ConversionPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversionPipeline.class);
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private final RendererPool rendererPool;
+
+    private final AssetPrefetcher assetPrefetcher;
+
+    public ConversionPipeline(RendererPool rendererPool) {
+        this(rendererPool, null);
+    }
+
+    /**
+     * @param assetPrefetcher loads the assets of every document before layout when the replaced element factory
+     *                        supports it; {@code null} to load them lazily during layout
+     */
+    public ConversionPipeline(RendererPool rendererPool, AssetPrefetcher assetPrefetcher) {
+        this.rendererPool = rendererPool;
+        this.assetPrefetcher = assetPrefetcher;
+    }
+
+    /**
+     * Runs all stages and writes the PDF to {@code out}. The PDF writer closes {@code out} when the document is
+     * finished; callers that must keep their stream open wrap it in a {@code CloseShieldOutputStream}.
+     *
+     * @param parser           produces the Jsoup document, e.g. by parsing a string or binding a template
+     * @param replacedElements given the renderer's default factory, returns the factory to use for this render
+     */
+    public RenderMetrics render(Parser parser, OutputStream out, UnaryOperator<ReplacedElementFactory> replacedElements) throws IOException {
+        return render(parser, out, replacedElements, RenderGuard.unbounded());
+    }
+
+    /**
+     * Same as {@link #render(Parser, OutputStream, UnaryOperator)}, stopping with {@link RenderAbortedException} as
+     * soon as the guard is cancelled or its deadline passes, including in the middle of layout.
+     */
+    public RenderMetrics render(Parser parser, OutputStream out, UnaryOperator<ReplacedElementFactory> replacedElements,
+                                RenderGuard guard) throws IOException {
+        RenderMetrics metrics = new RenderMetrics();
+        DefaultFactoryHandle defaults = new DefaultFactoryHandle();
+        ReplacedElementFactory factory = replacedElements.apply(defaults);
+        Document normalised = prepare(parser, factory, metrics, guard);
+        org.w3c.dom.Document dom = time(metrics, guard, Stage.DOM_BUILD, () -> new W3CDom().fromJsoup(normalised));
+        rendererPool.execute(guard, renderer -> {
+            install(renderer, defaults, factory);
+            guard.attach();
+            try {
+                time(metrics, guard, Stage.LAYOUT, () -> layout(renderer, dom, normalised, guard));
+                time(metrics, guard, Stage.PDF_WRITE, () -> {
+                    renderer.createPDF(out);
+                    return null;
+                });
+            } finally {
+                guard.detach();
+            }
+            return null;
+        });
+        log.debug("{}", metrics);
+        return metrics;
+    }
+
+    /**
+     * Like {@link #render(Parser, OutputStream, UnaryOperator)}, but lays out and writes the document one chunk at a
+     * time into the same PDF, so peak memory follows the chunk size instead of the document size. Each chunk starts
+     * on a new page; page numbering continues across chunks.
+     */
+    public RenderMetrics renderChunked(Parser parser, OutputStream out, UnaryOperator<ReplacedElementFactory> replacedElements,
+                                       DocumentChunker chunker) throws IOException {
+        return renderChunked(parser, out, replacedElements, chunker, RenderGuard.unbounded());
+    }
+
+    public RenderMetrics renderChunked(Parser parser, OutputStream out, UnaryOperator<ReplacedElementFactory> replacedElements,
+                                       DocumentChunker chunker, RenderGuard guard) throws IOException {
+        RenderMetrics metrics = new RenderMetrics();
+        DefaultFactoryHandle defaults = new DefaultFactoryHandle();
+        ReplacedElementFactory factory = replacedElements.apply(defaults);
+        // Prefetched before the first chunk is split off, while the source still holds every reference
+        Document normalised = prepare(parser, factory, metrics, guard);
+        // Every chunk keeps the location of the source document, so relative URLs resolve the same way
+        Iterator<Document> chunks = chunker.split(normalised);
+        rendererPool.execute(guard, renderer -> {
+            install(renderer, defaults, factory);
+            // The chunks are parts of one document; setDocument must not reset the factory between them, or images
+            // it tracks would be embedded again for every chunk
+            renderer.getSharedContext().setReplacedElementFactory(new ChunkSpanningFactory(factory));
+            guard.attach();
+            try {
+                writeChunks(renderer, chunks, out, metrics, guard);
+            } finally {
+                guard.detach();
+                factory.reset();
+            }
+            return null;
+        });
+        log.debug("{}", metrics);
+        return metrics;
+    }
+
+    /**
+     * Renders several independent documents, e.g. one certificate per participant, one after another into a single
+     * PDF with one renderer. Fonts, parsed stylesheets and images are shared by all documents and embedded once, so
+     * no separate merge step is needed. Each document starts on a new page; page numbering continues across them.
+     * <p>
+     * Documents are parsed lazily, one at a time, so apart from the first only the document being laid out is held
+     * in memory. The first document is parsed and its assets prefetched before a renderer is borrowed; for the
+     * others this happens while the renderer is held. Stage timings in the returned metrics are summed over all
+     * documents.
+     */
+    public RenderMetrics renderAll(Iterator<Parser> parsers, OutputStream out,
+                                   UnaryOperator<ReplacedElementFactory> replacedElements) throws IOException {
+        return renderAll(parsers, out, replacedElements, RenderGuard.unbounded());
+    }
+
+    public RenderMetrics renderAll(Iterator<Parser> parsers, OutputStream out,
+                                   UnaryOperator<ReplacedElementFactory> replacedElements, RenderGuard guard) throws IOException {
+        if (!parsers.hasNext()) {
+            throw new IllegalArgumentException("At least one document is required");
+        }
+        RenderMetrics metrics = new RenderMetrics();
+        DefaultFactoryHandle defaults = new DefaultFactoryHandle();
+        ReplacedElementFactory factory = replacedElements.apply(defaults);
+        Document first = prepare(parsers.next(), factory, metrics, guard);
+        rendererPool.execute(guard, renderer -> {
+            install(renderer, defaults, factory);
+            guard.attach();
+            try {
+                int pagesWritten = 0;
+                Document document = first;
+                while (document != null) {
+                    pagesWritten += writeDocument(renderer, document, pagesWritten, out, metrics, guard);
+                    document = parsers.hasNext() ? prepare(parsers.next(), factory, metrics, guard) : null;
+                }
+                finish(renderer, metrics, guard);
+            } finally {
+                guard.detach();
+            }
+            return null;
+        });
+        log.debug("{}", metrics);
+        return metrics;
+    }
+
+    private void writeChunks(ITextRenderer renderer, Iterator<Document> chunks, OutputStream out,
+                             RenderMetrics metrics, RenderGuard guard) throws IOException {
+        int pagesWritten = 0;
+        while (chunks.hasNext()) {
+            pagesWritten += writeDocument(renderer, chunks.next(), pagesWritten, out, metrics, guard);
+        }
+        finish(renderer, metrics, guard);
+    }
+
+    /**
+     * Lays out one document of a multi-document PDF and writes its pages after the {@code pagesWritten} pages that
+     * are already in the output.
+     *
+     * @return the number of pages the document produced
+     */
+    private int writeDocument(ITextRenderer renderer, Document document, int pagesWritten, OutputStream out,
+                              RenderMetrics metrics, RenderGuard guard) throws IOException {
+        org.w3c.dom.Document dom = time(metrics, guard, Stage.DOM_BUILD, () -> new W3CDom().fromJsoup(document));
+        int pages = time(metrics, guard, Stage.LAYOUT, () -> layout(renderer, dom, document, guard));
+        time(metrics, guard, Stage.PDF_WRITE, () -> {
+            if (pagesWritten == 0) {
+                renderer.createPDF(out, false);
+            } else {
+                renderer.writeNextDocument(pagesWritten + 1);
+            }
+            return null;
+        });
+        return pages;
+    }
+
+    /**
+     * Lays out the document and counts its pages against the guard's budget before anything is written.
+     *
+     * @return the number of pages laid out
+     */
+    private static int layout(ITextRenderer renderer, org.w3c.dom.Document dom, Document document, RenderGuard guard) {
+        renderer.setDocument(dom, document.location().isEmpty() ? null : document.location());
+        guard.startLayout();
+        try {
+            renderer.layout();
+        } finally {
+            guard.endLayout();
+        }
+        int pages = renderer.getRootBox().getLayer().getPages().size();
+        guard.addPages(pages);
+        return pages;
+    }
+
+    private static void finish(ITextRenderer renderer, RenderMetrics metrics, RenderGuard guard) throws IOException {
+        time(metrics, guard, Stage.PDF_WRITE, () -> {
+            renderer.finishPDF();
+            return null;
+        });
+    }
+
+    /**
+     * Parses, normalises and prefetches one document. Needs no renderer, so callers run it before borrowing one.
+     */
+    private Document prepare(Parser parser, ReplacedElementFactory factory, RenderMetrics metrics, RenderGuard guard)
+            throws IOException {
+        Document parsed = time(metrics, guard, Stage.PARSE, parser::parse);
+        Document normalised = time(metrics, guard, Stage.NORMALISE, () -> normalise(parsed));
+        prefetch(factory, normalised, metrics, guard);
+        return normalised;
+    }
+
+    /**
+     * Prepares a borrowed renderer for this pipeline; the pool restores the factory on release.
+     */
+    private static void install(ITextRenderer renderer, DefaultFactoryHandle defaults, ReplacedElementFactory factory) {
+        defaults.bind(renderer.getSharedContext().getReplacedElementFactory());
+        renderer.getSharedContext().setReplacedElementFactory(factory);
+    }
+
+    /**
+     * Loads the document's images concurrently so that layout finds them in memory. Waiting stops as soon as the
+     * guard is cancelled or its deadline passes.
+     */
+    private void prefetch(ReplacedElementFactory factory, Document document, RenderMetrics metrics, RenderGuard guard)
+            throws IOException {
+        if (assetPrefetcher == null || !(factory instanceof PrefetchingReplacedElementFactory prefetching)) {
+            return;
+        }
+        time(metrics, guard, Stage.PREFETCH, () -> {
+            prefetching.setPrefetchedImages(assetPrefetcher.prefetch(prefetching.findAssets(document), guard));
+            return null;
+        });
+    }
+
+    private Document normalise(Document document) {
+        // The renderer ignores scripts; dropping them keeps them out of the W3C DOM
+        document.select("script, noscript").remove();
+        document.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
+        return document;
+    }
+
+    private static <T> T time(RenderMetrics metrics, RenderGuard guard, Stage stage, StageAction<T> action) throws IOException {
+        guard.checkpoint();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            T result = action.run();
+            guard.checkAllocation();
+            return result;
+        } finally {
+            long wall = System.nanoTime() - start;
+            long allocatedAfter = allocatedBytes();
+            metrics.record(stage, wall, allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+        }
+    }
+
+    static long allocatedBytes() {
+        if (THREAD_MX_BEAN == null) {
+            return -1;
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    /**
+     * Stands in for the borrowed renderer's default factory, so the factory of a render can be built, and its assets
+     * prefetched, before a renderer is borrowed.
+     */
+    private static final class DefaultFactoryHandle implements ReplacedElementFactory {
+
+        private ReplacedElementFactory delegate;
+
+        void bind(ReplacedElementFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ReplacedElement createReplacedElement(LayoutContext c, BlockBox box, UserAgentCallback uac,
+                                                     int cssWidth, int cssHeight) {
+            return delegate.createReplacedElement(c, box, uac, cssWidth, cssHeight);
+        }
+
+        @Override
+        public void reset() {
+            if (delegate != null) {
+                delegate.reset();
+            }
+        }
+
+        @Override
+        public void remove(Element e) {
+            delegate.remove(e);
+        }
+
+        @Override
+        public void setFormSubmissionListener(FormSubmissionListener listener) {
+            delegate.setFormSubmissionListener(listener);
+        }
+    }
+
+    /**
+     * Delegates to the factory of a chunked render but ignores the reset that comes with every chunk's
+     * {@code setDocument}, so one image registry serves the whole output document.
+     */
+    private record ChunkSpanningFactory(ReplacedElementFactory delegate) implements ReplacedElementFactory {
+
+        @Override
+        public ReplacedElement createReplacedElement(LayoutContext c, BlockBox box, UserAgentCallback uac,
+                                                     int cssWidth, int cssHeight) {
+            return delegate.createReplacedElement(c, box, uac, cssWidth, cssHeight);
+        }
+
+        @Override
+        public void reset() {
+            // Reset once by renderChunked after the last chunk
+        }
+
+        @Override
+        public void remove(Element e) {
+            delegate.remove(e);
+        }
+
+        @Override
+        public void setFormSubmissionListener(FormSubmissionListener listener) {
+            delegate.setFormSubmissionListener(listener);
+        }
+    }
+
+    public enum Stage {
+        PARSE, NORMALISE, DOM_BUILD, PREFETCH, LAYOUT, PDF_WRITE
+    }
+
+    @FunctionalInterface
+    public interface Parser {
+        Document parse() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface StageAction<T> {
+        T run() throws IOException;
+    }
+}
@@ -0,0 +1,128 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Represents the DataUriImages class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class DataUriImages
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Decodes inline {@code data:image/...;base64,} images for the replaced element factories.
+ * @notes <ul>
+ * <li>The payload is decoded straight from the attribute value into an exactly sized array; no substring or
+ * intermediate buffer is created.</li>
+ * <li>Images are identified by the SHA-256 of their content in the {@link DocumentImageRegistry}, so identical
+ * payloads are decoded into one image and embedded once per document.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+final class DataUriImages {
+
+    private static final String SCHEME = "data:";
+
+    private final DocumentImageRegistry registry;
+
+    DataUriImages(DocumentImageRegistry registry) {
+        this.registry = registry;
+    }
+
+    static boolean isDataUri(String uri) {
+        return uri.regionMatches(true, 0, SCHEME, 0, SCHEME.length());
+    }
+
+    /**
+     * Returns a copy of the image encoded in {@code uri}, so callers can scale it freely.
+     */
+    Image getImage(String uri) throws IOException, BadElementException {
+        int comma = uri.indexOf(',');
+        if (comma < 0) {
+            throw new IOException("Malformed data URI: no ',' before the payload");
+        }
+        String mediaType = uri.substring(SCHEME.length(), comma).toLowerCase(Locale.ROOT);
+        if (!mediaType.endsWith(";base64")) {
+            throw new IOException("Only base64 encoded data URIs are supported: " + mediaType);
+        }
+        MessageDigest digest = sha256();
+        byte[] bytes = new byte[decodedLength(uri, comma + 1)];
+        try (InputStream in = new DigestInputStream(Base64.getMimeDecoder().wrap(new PayloadStream(uri, comma + 1)), digest)) {
+            int read = in.readNBytes(bytes, 0, bytes.length);
+            if (read != bytes.length) {
+                throw new IOException("Truncated data URI payload");
+            }
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        return registry.getImage("sha256:" + hash, -1, -1, () -> Image.getInstance(bytes));
+    }
+
+    /**
+     * Exact decoded size: every four alphabet characters carry three bytes; padding and line breaks carry none.
+     */
+    private static int decodedLength(String uri, int start) {
+        long symbols = 0;
+        for (int i = start; i < uri.length(); i++) {
+            char ch = uri.charAt(i);
+            if ((ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9') || ch == '+' || ch == '/') {
+                symbols++;
+            }
+        }
+        return Math.toIntExact(symbols * 3 / 4);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Exposes the base64 characters of the attribute value as ASCII bytes without copying them.
+     */
+    private static final class PayloadStream extends InputStream {
+
+        private final String source;
+        private int position;
+
+        private PayloadStream(String source, int start) {
+            this.source = source;
+            this.position = start;
+        }
+
+        @Override
+        public int read() {
+            return position < source.length() ? source.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int count = Math.min(length, source.length() - position);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) source.charAt(position++);
+            }
+            return count;
+        }
+    }
+}
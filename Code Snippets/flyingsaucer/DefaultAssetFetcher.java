@@ -0,0 +1,112 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Represents the DefaultAssetFetcher class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class DefaultAssetFetcher
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Fetches {@code file:} assets from disk and {@code http(s):} assets with the JDK HTTP client.
+ * @notes <ul>
+ * <li>Connecting and every request are bounded by the same timeout.</li>
+ * <li>Any status other than 200 fails the fetch, and so does an asset larger than the size limit; a response is
+ * never buffered past the limit.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class DefaultAssetFetcher implements AssetFetcher {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final long maxBytes;
+
+    public DefaultAssetFetcher() {
+        this(DEFAULT_TIMEOUT, DEFAULT_MAX_BYTES);
+    }
+
+    public DefaultAssetFetcher(Duration timeout) {
+        this(timeout, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxBytes largest asset that is loaded; larger ones fail the fetch
+     */
+    public DefaultAssetFetcher(Duration timeout, long maxBytes) {
+        if (maxBytes < 1 || maxBytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid asset size limit: " + maxBytes);
+        }
+        this.timeout = timeout;
+        this.maxBytes = maxBytes;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public byte[] fetch(URI uri) throws IOException {
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme();
+        switch (scheme) {
+            case "file":
+                return fetchFile(Paths.get(uri));
+            case "http":
+            case "https":
+                return fetchHttp(uri);
+            default:
+                throw new IOException("Unsupported asset URI scheme: " + uri);
+        }
+    }
+
+    private byte[] fetchFile(Path file) throws IOException {
+        long size = Files.size(file);
+        if (size > maxBytes) {
+            throw new IOException("Asset " + file + " is larger than " + maxBytes + " bytes");
+        }
+        return Files.readAllBytes(file);
+    }
+
+    private byte[] fetchHttp(URI uri) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+        try {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("Fetching " + uri + " returned HTTP " + response.statusCode());
+                }
+                long declared = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+                if (declared > maxBytes) {
+                    throw new IOException("Asset " + uri + " is larger than " + maxBytes + " bytes");
+                }
+                // The declared length may be missing or wrong; never read more than one byte past the limit
+                byte[] bytes = body.readNBytes((int) maxBytes + 1);
+                if (bytes.length > maxBytes) {
+                    throw new IOException("Asset " + uri + " is larger than " + maxBytes + " bytes");
+                }
+                return bytes;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + uri);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents the DocumentChunker class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class DocumentChunker
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Splits a large HTML document into a sequence of smaller documents that can be laid out one after
+ * another, so the renderer only ever holds the box tree of one chunk.
+ * @notes <ul>
+ * <li>Chunks end before an explicit page break ({@code class="page-break"} or {@code page-break-before: always})
+ * and when the element budget is used up.</li>
+ * <li>Tables directly under {@code body} are split between rows; every piece repeats the table's
+ * {@code thead} and {@code colgroup}, the {@code caption} goes with the first piece and the {@code tfoot} with the
+ * last. Tables nested deeper are never split, so they end up in a single chunk.</li>
+ * <li>Every chunk copies the source {@code head}, so styles apply to all chunks. Nodes are moved out of the source
+ * document as chunks are produced, so the source shrinks while the render progresses.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class DocumentChunker {
+
+    public static final int DEFAULT_MAX_ELEMENTS_PER_CHUNK = 5000;
+
+    private final int maxElementsPerChunk;
+
+    public DocumentChunker() {
+        this(DEFAULT_MAX_ELEMENTS_PER_CHUNK);
+    }
+
+    public DocumentChunker(int maxElementsPerChunk) {
+        if (maxElementsPerChunk < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1 element: " + maxElementsPerChunk);
+        }
+        this.maxElementsPerChunk = maxElementsPerChunk;
+    }
+
+    /**
+     * Lazily splits the body of {@code source}. The source document is consumed by the iteration.
+     */
+    public Iterator<Document> split(Document source) {
+        return new ChunkIterator(source);
+    }
+
+    private static boolean isPageBreak(Node node) {
+        if (!(node instanceof Element element)) {
+            return false;
+        }
+        String style = element.attr("style").toLowerCase(Locale.ROOT).replace(" ", "");
+        return element.hasClass("page-break") || style.contains("page-break-before:always");
+    }
+
+    private static boolean hasRows(Node node) {
+        return node instanceof Element element && "table".equals(element.normalName()) && !rows(element).isEmpty();
+    }
+
+    private static List<Element> rows(Element table) {
+        return table.select("> tbody > tr, > tr");
+    }
+
+    private static int weight(Node node) {
+        return node instanceof Element element ? element.getAllElements().size() : 1;
+    }
+
+    private final class ChunkIterator implements Iterator<Document> {
+
+        private final Document source;
+        private final Deque<Node> pending;
+
+        private ChunkIterator(Document source) {
+            this.source = source;
+            this.pending = new ArrayDeque<>(source.body().childNodes());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public Document next() {
+            if (pending.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Document chunk = newShell();
+            int used = 0;
+            while (!pending.isEmpty()) {
+                Node next = pending.peekFirst();
+                if (used > 0 && isPageBreak(next)) {
+                    break;
+                }
+                if (hasRows(next)) {
+                    Element table = (Element) next;
+                    used += moveRows(table, chunk, used);
+                    if (!rows(table).isEmpty()) {
+                        break;
+                    }
+                    pending.pollFirst();
+                    next.remove();
+                    continue;
+                }
+                int size = weight(next);
+                if (used > 0 && used + size > maxElementsPerChunk) {
+                    break;
+                }
+                pending.pollFirst();
+                chunk.body().appendChild(next);
+                used += size;
+            }
+            return chunk;
+        }
+
+        /**
+         * Moves as many leading rows of {@code table} into a copy of it in {@code chunk} as the budget allows.
+         * An empty chunk always takes at least one row so progress is guaranteed.
+         */
+        private int moveRows(Element table, Document chunk, int used) {
+            Element piece = table.shallowClone();
+            for (Element header : table.select("> colgroup, > thead")) {
+                piece.appendChild(header.clone());
+            }
+            Element body = piece.appendElement("tbody");
+            int moved = weight(piece);
+            for (Element row : rows(table)) {
+                int size = weight(row);
+                if ((used > 0 || body.childrenSize() > 0) && used + moved + size > maxElementsPerChunk) {
+                    break;
+                }
+                Element rowGroup = row.parent();
+                body.appendChild(row);
+                if (rowGroup != table && rowGroup.childrenSize() == 0) {
+                    rowGroup.remove();
+                }
+                moved += size;
+            }
+            if (body.childrenSize() == 0) {
+                return 0;
+            }
+            // Moved rather than copied, so the caption only heads the first piece and the footer only ends the last
+            Element caption = table.selectFirst("> caption");
+            if (caption != null) {
+                moved += weight(caption);
+                piece.prependChild(caption);
+            }
+            if (rows(table).isEmpty()) {
+                for (Element footer : table.select("> tfoot")) {
+                    moved += weight(footer);
+                    piece.appendChild(footer);
+                }
+            }
+            chunk.body().appendChild(piece);
+            return moved;
+        }
+
+        private Document newShell() {
+            Document chunk = Document.createShell(source.location());
+            chunk.outputSettings(source.outputSettings().clone());
+            for (Node headNode : source.head().childNodes()) {
+                chunk.head().appendChild(headNode.clone());
+            }
+            source.body().attributes().forEach(attribute -> chunk.body().attr(attribute.getKey(), attribute.getValue()));
+            return chunk;
+        }
+    }
+}
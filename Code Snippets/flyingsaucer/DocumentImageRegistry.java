@@ -0,0 +1,70 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the DocumentImageRegistry class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class DocumentImageRegistry
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Tracks image identity within one generated PDF so that every reference to the same image at the same
+ * size is written as a single image XObject.
+ * @notes <ul>
+ * <li>The PDF writer emits one XObject per image serial id. The first image loaded for a source becomes the base;
+ * every later reference gets an {@link Image#getInstance(Image)} copy, which keeps the serial id but can be scaled
+ * and positioned on its own.</li>
+ * <li>Identity does not depend on the shared caches, so an eviction in the middle of a document cannot produce a
+ * second copy of an image.</li>
+ * <li>Not thread safe; one registry belongs to one render at a time and is cleared when the output is finished.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class DocumentImageRegistry {
+
+    private final Map<SourceKey, Image> images = new HashMap<>();
+
+    /**
+     * Returns a copy of the image registered for {@code source} at the given size, loading and registering it first
+     * when this is its first reference.
+     *
+     * @param source a path, URL or content hash identifying the image bytes
+     * @param width  the requested width, or {@code -1} when the size does not affect the loaded image
+     * @param height the requested height, or {@code -1} when the size does not affect the loaded image
+     */
+    public Image getImage(String source, int width, int height, ImageLoader loader) throws IOException, BadElementException {
+        SourceKey key = new SourceKey(source, width, height);
+        Image base = images.get(key);
+        if (base == null) {
+            base = loader.load();
+            images.put(key, base);
+        }
+        return Image.getInstance(base);
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    public void clear() {
+        images.clear();
+    }
+
+    @FunctionalInterface
+    public interface ImageLoader {
+        Image load() throws IOException, BadElementException;
+    }
+
+    private record SourceKey(String source, int width, int height) {
+    }
+}
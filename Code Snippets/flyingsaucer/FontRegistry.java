@@ -0,0 +1,139 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.BaseFont;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Represents the FontRegistry class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class FontRegistry
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Process-wide set of TrueType/OpenType fonts that are parsed once and shared by every renderer.
+ * @notes <ul>
+ * <li>Fonts are parsed through the {@link BaseFont} cache, so registering them on another renderer later reuses
+ * the already parsed font program instead of reading the file again.</li>
+ * <li>Fonts are embedded as Identity-H subsets: only the glyphs a document uses end up in the PDF.</li>
+ * <li>The default registry loads every font in the directory named by the {@code pdf.fonts.dir} system property.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class FontRegistry {
+
+    public static final String FONTS_DIR_PROPERTY = "pdf.fonts.dir";
+
+    private static final Logger log = LoggerFactory.getLogger(FontRegistry.class);
+
+    private final List<String> fontPaths = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger version = new AtomicInteger();
+
+    public static FontRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Parses the font once and adds it to the registry. Renderers pick it up the next time they are borrowed.
+     *
+     * @param fontPath a file path or URL, e.g. the {@code toString()} of a classpath resource
+     */
+    public synchronized void register(String fontPath) throws IOException {
+        if (fontPaths.contains(fontPath)) {
+            return;
+        }
+        try {
+            BaseFont font = BaseFont.createFont(fontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+            font.setSubset(true);
+        } catch (DocumentException e) {
+            throw new IOException("Unable to load font " + fontPath, e);
+        }
+        fontPaths.add(fontPath);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Registers every {@code .ttf} and {@code .otf} file in the directory.
+     */
+    public void registerDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> fonts = files.filter(FontRegistry::isFontFile).sorted().toList();
+            for (Path font : fonts) {
+                register(font.toAbsolutePath().toString());
+            }
+        }
+    }
+
+    public List<String> getFontPaths() {
+        return Collections.unmodifiableList(new ArrayList<>(fontPaths));
+    }
+
+    /**
+     * Incremented on every registration, i.e. the number of registered fonts, so holders of renderers can tell
+     * whether they are missing fonts.
+     */
+    public int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Adds the fonts registered since the renderer last saw the registry to its font resolver. The resolver keeps
+     * every added font description, so fonts it already has are never added again.
+     *
+     * @param alreadyApplied the value this method returned for the renderer last time, {@code 0} for a new renderer
+     * @return the number of registered fonts the renderer now has
+     */
+    public int applyTo(ITextRenderer renderer, int alreadyApplied) {
+        // Registration only appends, so the fonts past alreadyApplied are exactly the new ones
+        List<String> registered = getFontPaths();
+        for (String fontPath : registered.subList(Math.min(alreadyApplied, registered.size()), registered.size())) {
+            try {
+                renderer.getFontResolver().addFont(fontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+            } catch (DocumentException | IOException e) {
+                log.warn("Unable to register font {}", fontPath, e);
+            }
+        }
+        return registered.size();
+    }
+
+    private static boolean isFontFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return Files.isRegularFile(path) && (name.endsWith(".ttf") || name.endsWith(".otf"));
+    }
+
+    private static final class DefaultHolder {
+        private static final FontRegistry INSTANCE = createDefault();
+
+        private static FontRegistry createDefault() {
+            FontRegistry registry = new FontRegistry();
+            String fontsDir = System.getProperty(FONTS_DIR_PROPERTY);
+            if (fontsDir != null) {
+                try {
+                    registry.registerDirectory(Paths.get(fontsDir));
+                } catch (IOException e) {
+                    log.warn("Unable to preload fonts from {}", fontsDir, e);
+                }
+            }
+            return registry;
+        }
+    }
+}
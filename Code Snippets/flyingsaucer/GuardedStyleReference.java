@@ -0,0 +1,58 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xhtmlrenderer.context.StyleReference;
+import org.xhtmlrenderer.css.newmatch.CascadedStyle;
+import org.xhtmlrenderer.extend.NamespaceHandler;
+import org.xhtmlrenderer.extend.UserInterface;
+import org.xhtmlrenderer.layout.SharedContext;
+
+/**
+ * Represents the GuardedStyleReference class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class GuardedStyleReference
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Style lookup that checks the render's {@link RenderGuard} first. The renderer resolves the style
+ * of every element while it builds and lays out boxes, so this is a frequent, cheap interruption point.
+ * @notes <ul>
+ * <li>Installed on every pooled renderer; without an attached guard it behaves exactly like its parent.</li>
+ * <li>Drops the renderer's parsed stylesheets before a document is set when a linked {@code file:} stylesheet
+ * has been edited since it was parsed.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+class GuardedStyleReference extends StyleReference {
+
+    private final CachingUserAgentCallback userAgent;
+
+    GuardedStyleReference(CachingUserAgentCallback userAgent) {
+        super(userAgent);
+        this.userAgent = userAgent;
+    }
+
+    @Override
+    public void setDocumentContext(SharedContext context, NamespaceHandler nsh, Document doc, UserInterface ui) {
+        if (userAgent.hasModifiedStylesheets()) {
+            // Parsed sheets are kept by URL for the life of the renderer; drop them once a linked file was edited
+            flushAllStyleSheets();
+            userAgent.forgetStylesheets();
+        }
+        super.setDocumentContext(context, nsh, doc, ui);
+    }
+
+    @Override
+    public CascadedStyle getCascadedStyle(Element e, boolean restyle) {
+        RenderGuard guard = RenderGuard.current();
+        if (guard != null) {
+            guard.checkpoint();
+        }
+        return super.getCascadedStyle(e, restyle);
+    }
+}
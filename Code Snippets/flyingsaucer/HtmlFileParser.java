@@ -0,0 +1,99 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents the HtmlFileParser class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class HtmlFileParser
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Parses HTML files by streaming the memory-mapped file into the parser, so the document is decoded
+ * incrementally instead of being read into a String first.
+ * @notes <ul>
+ * <li>Files too large for a single mapping are streamed from a regular file channel instead.</li>
+ * <li>The document's location is the file URI, so URLs the user agent loads, i.e. linked stylesheets and CSS
+ * images, resolve against the file's directory. {@code img} elements are resolved by the replaced element factory
+ * of the render, which for {@link ReplacedElementFactoryImpl} is the working directory.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+final class HtmlFileParser {
+
+    private static final String DEFAULT_CHARSET = "UTF-8";
+
+    private HtmlFileParser() {
+    }
+
+    /**
+     * Parses the file as UTF-8 unless it starts with a byte order mark.
+     */
+    static Document parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            InputStream in = size <= Integer.MAX_VALUE
+                    ? new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size))
+                    : new BufferedInputStream(Files.newInputStream(file));
+            try (in) {
+                return Jsoup.parse(in, DEFAULT_CHARSET, file.toAbsolutePath().toUri().toString());
+            }
+        }
+    }
+
+    /**
+     * Reads a mapped region; pages are loaded by the OS as the parser advances.
+     */
+    private static final class MappedInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+
+/**
+ * Represents the HtmlPdfRenderer interface in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class HtmlPdfRenderer
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Renders an HTML document into a PDF stream, regardless of where the render runs.
+ * @notes <ul>
+ * <li>{@link HtmlToPdf} renders in the calling JVM; {@code worker.RenderWorkerFarm} dispatches to forked worker
+ * JVMs. Callers such as {@link BatchHtmlToPdf} work with either.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public interface HtmlPdfRenderer {
+
+    /**
+     * Renders the HTML and writes the PDF into {@code out}. The stream is flushed but not closed.
+     *
+     * @return the number of bytes written to {@code out}
+     */
+    long writePdf(String html, OutputStream out) throws IOException;
+
+    /**
+     * Like {@link #writePdf(String, OutputStream)}, but aborts the render with a {@link RenderAbortedException} of
+     * reason {@link RenderAbortedException.Reason#DEADLINE_EXCEEDED} once it runs longer than {@code deadline}.
+     */
+    long writePdf(String html, OutputStream out, Duration deadline) throws IOException;
+}
@@ -1,63 +1,400 @@
 package com.io.chenosis.digitalcertificate.service.flyingsaucer;
 
 
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ImageOptimizer;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.RenderedPdfCache;
 import com.lowagie.text.DocumentException;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.jsoup.Jsoup;
-import org.jsoup.helper.W3CDom;
 import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.xhtmlrenderer.layout.SharedContext;
-import org.xhtmlrenderer.pdf.ITextRenderer;
+import org.xhtmlrenderer.extend.ReplacedElementFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.StreamSupport;
 
 
 @Service
-public class HtmlToPdf {
+public class HtmlToPdf implements HtmlPdfRenderer {
+
+    /**
+     * How {@link #writePdf(String, OutputStream, OutputMode)} delivers the document to the caller's stream.
+     */
+    public enum OutputMode {
+        /**
+         * PDF bytes go to the caller's stream while the document is being written.
+         */
+        DIRECT,
+        /**
+         * The PDF is written to a temporary file first and copied to the caller's stream once complete, so a failed
+         * render never leaves a partial response behind. Meant for very large outputs.
+         */
+        SPILL_TO_FILE
+    }
 
     Logger log = LoggerFactory.getLogger(getClass());
 
+    private final RendererPool rendererPool;
+
+    private final TemplateRegistry templateRegistry;
+
+    private final ConversionPipeline pipeline;
+
+    private RenderedPdfCache renderedPdfCache;
+
+    private Executor asyncExecutor;
+
+    private RenderBudget renderBudget = RenderBudget.UNLIMITED;
+
+    public HtmlToPdf() {
+        this(RendererPool.getDefault(), new TemplateRegistry());
+    }
+
+    public HtmlToPdf(RendererPool rendererPool, TemplateRegistry templateRegistry) {
+        this.rendererPool = rendererPool;
+        this.templateRegistry = templateRegistry;
+        this.pipeline = new ConversionPipeline(rendererPool, AssetPrefetcher.getDefault());
+    }
+
+    public TemplateRegistry getTemplateRegistry() {
+        return templateRegistry;
+    }
+
+    /**
+     * Enables {@link #writePdfCached(String, OutputStream)} to serve repeated renders from the given cache.
+     */
+    public void setRenderedPdfCache(RenderedPdfCache renderedPdfCache) {
+        this.renderedPdfCache = renderedPdfCache;
+    }
+
+    /**
+     * Limits applied to every render started by this service; unlimited by default. A render that goes over the
+     * budget is aborted with a {@link RenderBudgetExceededException}.
+     */
+    public void setRenderBudget(RenderBudget renderBudget) {
+        this.renderBudget = renderBudget;
+    }
 
     public void convertHtmltoPdfWithImage(String html, String name) throws DocumentException, IOException {
-        Document jDoc = Jsoup.parse(html);
-        W3CDom w3cDom = new W3CDom();
+        convertHtmltoPdfWithImage(html, name, OutputStream.nullOutputStream());
+    }
 
-        org.w3c.dom.Document content = w3cDom.fromJsoup(jDoc);
-        ITextRenderer renderer = new ITextRenderer();
-        renderer.getSharedContext().setReplacedElementFactory(new MediaReplacedElementFactory(renderer.getSharedContext().getReplacedElementFactory(), new File(name)));
-        renderer.setDocument(content, null);
-        renderer.layout();
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        renderer.createPDF(baos);
+    /**
+     * Same as {@link #convertHtmltoPdfWithImage(String, String)} but writes the PDF into the given stream as it is
+     * produced. The stream is flushed but not closed.
+     */
+    public void convertHtmltoPdfWithImage(String html, String name, OutputStream out) throws DocumentException, IOException {
+        OutputStream os = new BufferedOutputStream(CloseShieldOutputStream.wrap(out));
+        RenderGuard guard = RenderGuard.withBudget(renderBudget);
+        // The writer closes the chain when the document is finished, which flushes it into out and leaves out open
+        pipeline.render(() -> parse(html, guard), os,
+                defaultFactory -> new MediaReplacedElementFactory(defaultFactory, new File(name)), guard);
     }
 
-    public void convertHtmlToPdfUsingBuffer(String html, String name) {
-        try {
-            StringBuffer buf = new StringBuffer();
-            buf.append(html);
+    /**
+     * Renders one certificate per HTML document into a single PDF in one renderer pass, replacing separate renders
+     * followed by a merge. Fonts, stylesheets and images (resolved like
+     * {@link #convertHtmltoPdfWithImage(String, String, OutputStream)} does) are embedded once for the whole file.
+     * Each document starts on a new page. The stream is flushed but not closed.
+     *
+     * @return the number of bytes written to {@code out}
+     */
+    public long writeCombinedPdf(Iterable<String> htmlDocuments, String name, OutputStream out) throws IOException {
+        RenderGuard guard = RenderGuard.withBudget(renderBudget);
+        Iterator<ConversionPipeline.Parser> parsers = StreamSupport.stream(htmlDocuments.spliterator(), false)
+                .<ConversionPipeline.Parser>map(html -> () -> parse(html, guard))
+                .iterator();
+        DocumentImageRegistry imageRegistry = new DocumentImageRegistry();
+        Path mediaRoot = MediaReplacedElementFactory.mediaRootOf(new File(name));
+        CountingOutputStream counting = new CountingOutputStream(new BufferedOutputStream(CloseShieldOutputStream.wrap(out)));
+        // finishPDF closes, and thereby flushes, the shielded chain; out itself stays open
+        pipeline.renderAll(parsers, counting, defaultFactory ->
+                new MediaReplacedElementFactory(defaultFactory, mediaRoot, ImageOptimizer.getDefault(), imageRegistry), guard);
+        return counting.getByteCount();
+    }
 
-            Document jDoc = Jsoup.parse(html);
-            W3CDom w3cDom = new W3CDom();
+    @Override
+    public long writePdf(String html, OutputStream out) throws IOException {
+        return writePdf(html, out, OutputMode.DIRECT);
+    }
+
+    /**
+     * Renders directly into {@code out} and aborts once the render runs past the deadline, even in the middle of
+     * layout. The stream is flushed but not closed.
+     *
+     * @return the number of bytes written to {@code out}
+     */
+    @Override
+    public long writePdf(String html, OutputStream out, Duration deadline) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream(new BufferedOutputStream(CloseShieldOutputStream.wrap(out)));
+        renderTo(html, counting, RenderGuard.withBudget(renderBudget, deadline));
+        return counting.getByteCount();
+    }
 
-            org.w3c.dom.Document doc = w3cDom.fromJsoup(jDoc); //db.parse(is);
+    public long writePdf(String html, WritableByteChannel channel) throws IOException {
+        return writePdf(html, channel, OutputMode.DIRECT);
+    }
 
+    public long writePdf(String html, WritableByteChannel channel, OutputMode mode) throws IOException {
+        return writePdf(html, Channels.newOutputStream(channel), mode);
+    }
 
-            ITextRenderer renderer = new ITextRenderer();
-            renderer.setDocument(doc, null);
+    /**
+     * Renders the HTML and writes the PDF into a caller supplied stream, e.g. an HTTP response body, without
+     * keeping the document on the heap. The stream is flushed but not closed.
+     *
+     * @return the number of bytes written to {@code out}
+     */
+    public long writePdf(String html, OutputStream out, OutputMode mode) throws IOException {
+        if (mode == OutputMode.SPILL_TO_FILE) {
+            Path spill = Files.createTempFile("html-to-pdf-", ".pdf");
+            try {
+                try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(spill))) {
+                    renderTo(html, fileOut);
+                }
+                long written = Files.copy(spill, out);
+                out.flush();
+                return written;
+            } finally {
+                Files.deleteIfExists(spill);
+            }
+        }
+        CountingOutputStream counting = new CountingOutputStream(new BufferedOutputStream(CloseShieldOutputStream.wrap(out)));
+        // Closed and thereby flushed by the writer; flushing again would hit the shield's closed stream
+        renderTo(html, counting);
+        return counting.getByteCount();
+    }
 
+    /**
+     * Non-blocking variant of {@link #writePdf(String, OutputStream)}: the render runs on a dedicated executor and
+     * the returned future completes with the PDF bytes. Reactive callers can wrap it with {@code Mono.fromFuture}.
+     * <p>
+     * Cancelling the future, the deadline passing or the render budget running out aborts the render even in the
+     * middle of layout; the future then completes with a {@link RenderAbortedException} (or is simply cancelled).
+     */
+    public CompletableFuture<byte[]> convertAsync(String html, Duration deadline) {
+        RenderGuard guard = RenderGuard.withBudget(renderBudget, deadline);
+        CompletableFuture<byte[]> result = CompletableFuture.supplyAsync(() -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                pipeline.render(() -> parse(html, guard), out, UnaryOperator.identity(), guard);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }, getAsyncExecutor());
+        result.whenComplete((pdf, failure) -> {
+            if (failure != null) {
+                guard.cancel();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Overrides the executor used by {@link #convertAsync(String, Duration)}; by default a shared pool of daemon
+     * threads sized like the renderer pool is used, keeping renders off the request threads.
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    private Executor getAsyncExecutor() {
+        return asyncExecutor != null ? asyncExecutor : AsyncExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Renders very large documents (e.g. registers with tens of thousands of table rows) in chunks, laying out and
+     * writing one chunk at a time into a single PDF so memory stays bounded by the chunk size. Only tables that are
+     * direct children of {@code body} are split between rows, see {@link DocumentChunker}. The stream is flushed
+     * but not closed.
+     */
+    public void writeLargePdf(String html, OutputStream out, DocumentChunker chunker) throws IOException {
+        OutputStream os = new BufferedOutputStream(CloseShieldOutputStream.wrap(out));
+        RenderGuard guard = RenderGuard.withBudget(renderBudget);
+        // Flushed into out when the writer closes the chain after the last chunk
+        pipeline.renderChunked(() -> parse(html, guard), os, UnaryOperator.identity(), chunker, guard);
+    }
+
+    /**
+     * Like {@link #writePdf(String, OutputStream)}, but byte-identical requests (same HTML and unchanged referenced
+     * files) are answered from the rendered PDF cache when one is configured. Relative references are resolved like
+     * the renderer resolves them, against the pool's base URL. Every call, cache hits included, still pays for a full
+     * Jsoup parse of the HTML to find the referenced files.
+     *
+     * @return the number of bytes written to {@code out}
+     */
+    public long writePdfCached(String html, OutputStream out) throws IOException {
+        if (renderedPdfCache == null) {
+            return writePdf(html, out);
+        }
+        RenderGuard guard = RenderGuard.withBudget(renderBudget);
+        Document document = parse(html, guard);
+        String key = RenderedPdfCache.key(html, assetFingerprints(document));
+        byte[] pdf = renderedPdfCache.get(key, () -> {
+            ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+            pipeline.render(() -> document, rendered, UnaryOperator.identity(), guard);
+            return rendered.toByteArray();
+        });
+        out.write(pdf);
+        out.flush();
+        return pdf.length;
+    }
+
+    private List<String> assetFingerprints(Document document) {
+        // Same base the user agent resolves against: the document's own location, else the pool's base URL
+        String baseUrl = document.location().isEmpty() ? rendererPool.getBaseUrl() : document.location();
+        List<String> fingerprints = new ArrayList<>();
+        for (Element element : document.select("img[src], div.media[data-src], link[href]")) {
+            String reference = element.hasAttr("src") ? element.attr("src")
+                    : element.hasAttr("data-src") ? element.attr("data-src") : element.attr("href");
+            if (DataUriImages.isDataUri(reference)) {
+                // Inline content is already part of the HTML that is hashed
+                continue;
+            }
+            String resolved = CachingUserAgentCallback.resolve(baseUrl, reference);
+            if (resolved == null) {
+                fingerprints.add(reference);
+                continue;
+            }
+            String fingerprint = resolved;
+            try {
+                Path asset = Paths.get(URI.create(resolved));
+                if (Files.isRegularFile(asset)) {
+                    fingerprint = resolved + ':' + Files.size(asset) + ':' + Files.getLastModifiedTime(asset).toMillis();
+                }
+            } catch (IllegalArgumentException | FileSystemNotFoundException | IOException e) {
+                // Not a local file; the resolved URL is the best fingerprint we have
+            }
+            fingerprints.add(fingerprint);
+        }
+        return fingerprints;
+    }
+
+    private void renderTo(String html, OutputStream out) throws IOException {
+        renderTo(html, out, RenderGuard.withBudget(renderBudget));
+    }
+
+    private void renderTo(String html, OutputStream out, RenderGuard guard) throws IOException {
+        pipeline.render(() -> parse(html, guard), out, UnaryOperator.identity(), guard);
+    }
+
+    /**
+     * Parses the HTML once its size has been checked against the render budget.
+     */
+    private static Document parse(String html, RenderGuard guard) {
+        guard.checkInput(utf8Length(html));
+        return Jsoup.parse(html);
+    }
+
+    /**
+     * Parses an HTML file once its size has been checked against the render budget.
+     */
+    private static Document parse(Path htmlFile, RenderGuard guard) throws IOException {
+        guard.checkInput(Files.size(htmlFile));
+        return HtmlFileParser.parse(htmlFile);
+    }
+
+    private static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) {
+                bytes += 1;
+            } else if (ch < 0x800 || Character.isSurrogate(ch)) {
+                // A surrogate pair encodes to four bytes, two for each half
+                bytes += 2;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Renders the samples through every replaced element path, from as many threads as there are pooled renderers,
+     * so that class loading, font and image caches, each renderer's stylesheets and JIT compilation of the hot paths
+     * happen before the first real request. Output is discarded; a failing sample is logged (once per sample and
+     * factory) and skipped.
+     *
+     * @return how many renders ran and how many of them failed
+     */
+    public WarmUpResult warmUp(Collection<String> samples, int iterations) {
+        List<String> sampleList = List.copyOf(samples);
+        List<UnaryOperator<ReplacedElementFactory>> factories = List.of(
+                UnaryOperator.identity(),
+                defaultFactory -> new ReplacedElementFactoryImpl(),
+                MediaReplacedElementFactory::new);
+        AtomicInteger failures = new AtomicInteger();
+        Set<Integer> reported = ConcurrentHashMap.newKeySet();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[RendererPool.DEFAULT_SIZE];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    for (int s = 0; s < sampleList.size(); s++) {
+                        String html = sampleList.get(s);
+                        for (int f = 0; f < factories.size(); f++) {
+                            try {
+                                pipeline.render(() -> Jsoup.parse(html), OutputStream.nullOutputStream(), factories.get(f));
+                            } catch (Exception e) {
+                                failures.incrementAndGet();
+                                if (reported.add(s * factories.size() + f)) {
+                                    log.warn("Warm-up render of sample {} with factory {} failed", s, f, e);
+                                }
+                            }
+                        }
+                    }
+                }
+            }, getAsyncExecutor());
+        }
+        CompletableFuture.allOf(workers).join();
+        return new WarmUpResult(workers.length * iterations * sampleList.size() * factories.size(), failures.get());
+    }
+
+    public void convertHtmlToPdfUsingBuffer(String html, String name) {
+        try {
             String outputFile = name;
-            OutputStream os = new FileOutputStream(outputFile);
-            renderer.layout();
-            renderer.createPDF(os);
-            os.close();
+            try (OutputStream os = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+                RenderGuard guard = RenderGuard.withBudget(renderBudget);
+                pipeline.render(() -> parse(html, guard), os, UnaryOperator.identity(), guard);
+            }
+        } catch (RenderAbortedException e) {
+            // Budget violations and cancellations are the caller's to handle, never swallowed
+            log.warn("Conversion of HTML to PDF {} was aborted: {}", name, e.getMessage());
+            throw e;
         } catch (Exception e) {
-
+            log.error("Unable to convert HTML to PDF {}", name, e);
         }
 
     }
@@ -69,12 +406,14 @@ public class HtmlToPdf {
             // Converted PDF file - Output
             File outputPdf = new File(name);
 
-            //create well formed HTML
-            String xhtml = createWellFormedHtml(inputHTML);
             System.out.println("Starting conversion to PDF...");
-            xhtmlToPdf(xhtml, outputPdf);
+            RenderGuard guard = RenderGuard.withBudget(renderBudget);
+            // No base URI, so relative URLs resolve against the renderer's configured base as before
+            xhtmlToPdf(() -> parse(inputHTML, guard), guard, outputPdf);
 
 
+        } catch (RenderAbortedException e) {
+            throw e;
         } catch (IOException e) {
             // TODO Auto-generated catch block
             e.printStackTrace();
@@ -83,6 +422,35 @@ public class HtmlToPdf {
         }
     }
 
+    /**
+     * Like {@link #converHtmlToPdf(String, String)} for an HTML file. The file is streamed into the parser from a
+     * memory mapping, so large exports are never held on the heap as a String. Unlike the String variant, failures
+     * are reported to the caller.
+     * <p>
+     * Relative stylesheet URLs resolve against the file's directory. Relative {@code img} paths, like in the String
+     * variant, resolve against the working directory.
+     *
+     * @throws IOException when the file cannot be read or the PDF cannot be written
+     */
+    public void converHtmlToPdf(Path htmlFile, String name) throws IOException {
+        log.debug("Converting {} to {}", htmlFile, name);
+        RenderGuard guard = RenderGuard.withBudget(renderBudget);
+        xhtmlToPdf(() -> parse(htmlFile, guard), guard, new File(name));
+    }
+
+    /**
+     * Renders a registered certificate template with the given placeholder values. The template is parsed and
+     * normalised only the first time (or after it changes); each call works on a bound copy of the cached DOM.
+     */
+    public void convertTemplateToPdf(String templateId, String templateHtml, Map<String, String> values, String name) throws IOException {
+        RenderGuard guard = RenderGuard.withBudget(renderBudget);
+        guard.checkInput(utf8Length(templateHtml));
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(name))) {
+            pipeline.render(() -> templateRegistry.bind(templateId, templateHtml, values), outputStream,
+                    defaultFactory -> new ReplacedElementFactoryImpl(), guard);
+        }
+    }
+
     public void converHtmlToPdf() {
         try {
             // HTML file - Input
@@ -90,58 +458,47 @@ public class HtmlToPdf {
             // Converted PDF file - Output
             File outputPdf = new File("F:\\NETJS\\Test.pdf");
             HtmlToPdf htmlToPdf = new HtmlToPdf();
-            //create well formed HTML
-            String xhtml = htmlToPdf.createWellFormedHtml(inputHTML);
             System.out.println("Starting conversion to PDF...");
-            htmlToPdf.xhtmlToPdf(xhtml, outputPdf);
+            RenderGuard guard = RenderGuard.withBudget(htmlToPdf.renderBudget);
+            htmlToPdf.xhtmlToPdf(() -> parse(inputHTML.toPath(), guard), guard, outputPdf);
         } catch (IOException e) {
             // TODO Auto-generated catch block
             e.printStackTrace();
         }
     }
 
-    private String createWellFormedHtml(String inputHTML) throws IOException {
-        Document document = Jsoup.parse(inputHTML, "UTF-8");
-        document.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
-        System.out.println("HTML parsing done...");
-        return document.html();
-    }
-
-    private String createWellFormedHtml(File inputHTML) throws IOException {
-        Document document = Jsoup.parse(inputHTML, "UTF-8");
-        document.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
-        System.out.println("HTML parsing done...");
-        return document.html();
-    }
-
-    private void xhtmlToPdf(String xhtml, File outputPdf) throws IOException {
-        OutputStream outputStream = null;
-        try {
-            ITextRenderer renderer = new ITextRenderer();
-            SharedContext sharedContext = renderer.getSharedContext();
-            sharedContext.setPrint(true);
-            sharedContext.setInteractive(false);
+    private void xhtmlToPdf(ConversionPipeline.Parser parser, RenderGuard guard, File outputPdf) throws IOException {
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(outputPdf))) {
+            // Pooled renderers keep the ITextRenderer defaults: print media, non-interactive; the PDF text renderer
+            // ignores the smoothing threshold, so it is not set
             // Register custom ReplacedElementFactory implementation
-            sharedContext.setReplacedElementFactory(new ReplacedElementFactoryImpl());
-            sharedContext.getTextRenderer().setSmoothingThreshold(0);
-            // Register additional font
-//            renderer.getFontResolver().addFont(getClass().getClassLoader().getResource("fonts/PRISTINA.ttf").toString(), true);
-            // Setting base URL to resolve the relative URLs
+            RenderMetrics metrics = pipeline.render(parser, outputStream, defaultFactory -> new ReplacedElementFactoryImpl(), guard);
+            // Register additional fonts once at startup, they are shared by all pooled renderers
+//            FontRegistry.getDefault().register(getClass().getClassLoader().getResource("fonts/PRISTINA.ttf").toString());
+            // Setting base URL to resolve the relative URLs: pass it to the RendererPool, e.g.
+            // CachingUserAgentCallback.directoryBase(...); stylesheets and images are then cached across renders
 //            String baseUrl = FileSystems.getDefault()
 //                    .getPath("F:\\", "Anshu\\NetJs\\Programs\\", "src\\main\\resources\\css")
 //                    .toUri()
 //                    .toURL()
 //                    .toString();
-            renderer.setDocumentFromString(xhtml, null);
-            renderer.layout();
-            outputStream = new FileOutputStream(outputPdf);
-            renderer.createPDF(outputStream);
             System.out.println("PDF creation completed");
+            log.debug("Rendered {}: {}", outputPdf, metrics);
         } catch (com.lowagie.text.DocumentException e) {
-            e.printStackTrace();
-        } finally {
-            if (outputStream != null)
-                outputStream.close();
+            throw new IOException("Unable to write PDF " + outputPdf, e);
         }
     }
+
+    public record WarmUpResult(int renders, int failures) {
+    }
+
+    private static final class AsyncExecutorHolder {
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(RendererPool.DEFAULT_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "html-to-pdf-async-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
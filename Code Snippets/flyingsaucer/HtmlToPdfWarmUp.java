@@ -0,0 +1,151 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents the HtmlToPdfWarmUp class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class HtmlToPdfWarmUp
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Opt-in warm-up of {@link HtmlToPdf} at application start, so the first real certificate is rendered
+ * at steady-state latency instead of paying for lazy initialisation.
+ * @notes <ul>
+ * <li>Enabled with {@code pdf.warm-up.enabled=true}; {@code pdf.warm-up.iterations} sets the number of passes
+ * (default 20) and {@code pdf.warm-up.templates} a comma separated list of classpath templates to render. Without
+ * templates a built-in sample certificate is used.</li>
+ * <li>Runs once, in the background after the first context refresh, so it never delays start-up;
+ * {@link #isComplete()} can back a readiness check. Failed renders are logged as warnings and counted.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+@Component
+public class HtmlToPdfWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(HtmlToPdfWarmUp.class);
+
+    /**
+     * Styled text, a table, page breaks and an inline image, covering the common layout and image paths.
+     */
+    static final String SAMPLE_CERTIFICATE = """
+            <html><head><style>
+            @page { size: A4 landscape; margin: 1cm; }
+            body { font-family: serif; text-align: center; }
+            h1 { font-size: 32pt; color: #8b6508; }
+            table { width: 100%; border-collapse: collapse; }
+            td, th { border: 1px solid #999; padding: 4px; }
+            .page-break { page-break-before: always; }
+            </style></head><body>
+            <h1>Certificate of Completion</h1>
+            <p>This certifies that <strong>Sample Participant</strong> has completed the course.</p>
+            <img src="data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=" style="width: 80px; height: 80px;" />
+            <div class="media" data-src="data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=" style="width: 80px; height: 80px;"></div>
+            <div class="page-break"><table>
+            <thead><tr><th>Module</th><th>Score</th><th>Date</th></tr></thead>
+            <tbody>
+            <tr><td>Introduction</td><td>92</td><td>2026-01-15</td></tr>
+            <tr><td>Fundamentals</td><td>88</td><td>2026-02-12</td></tr>
+            <tr><td>Assessment</td><td>95</td><td>2026-03-09</td></tr>
+            </tbody></table></div>
+            </body></html>
+            """;
+
+    private final HtmlToPdf htmlToPdf;
+    private final boolean enabled;
+    private final int iterations;
+    private final String[] templates;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean complete;
+
+    public HtmlToPdfWarmUp(HtmlToPdf htmlToPdf,
+                           @Value("${pdf.warm-up.enabled:false}") boolean enabled,
+                           @Value("${pdf.warm-up.iterations:20}") int iterations,
+                           @Value("${pdf.warm-up.templates:}") String[] templates) {
+        this.htmlToPdf = htmlToPdf;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.templates = templates;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        if (!enabled || !started.compareAndSet(false, true)) {
+            return;
+        }
+        // In the background, so application start-up is not held up by the renders
+        Thread thread = new Thread(this::warmUp, "pdf-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        try {
+            List<String> samples = loadSamples();
+            HtmlToPdf.WarmUpResult result = htmlToPdf.warmUp(samples, iterations);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (result.failures() == 0) {
+                log.info("PDF rendering warmed up with {} template(s) x {} iteration(s) in {} ms", samples.size(),
+                        iterations, millis);
+            } else if (result.failures() < result.renders()) {
+                log.warn("PDF rendering warm-up finished in {} ms, but {} of {} renders failed", millis,
+                        result.failures(), result.renders());
+            } else {
+                log.warn("PDF rendering warm-up failed: all {} renders failed in {} ms", result.renders(), millis);
+            }
+        } catch (RuntimeException e) {
+            log.warn("PDF rendering warm-up failed", e);
+        } finally {
+            complete = true;
+        }
+    }
+
+    /**
+     * {@code true} once the warm-up has finished, or right away when it is disabled.
+     */
+    public boolean isComplete() {
+        return !enabled || complete;
+    }
+
+    private List<String> loadSamples() {
+        List<String> samples = new ArrayList<>();
+        for (String template : templates) {
+            String location = template.trim();
+            if (location.isEmpty()) {
+                continue;
+            }
+            try (InputStream in = HtmlToPdfWarmUp.class.getClassLoader().getResourceAsStream(location)) {
+                if (in == null) {
+                    log.warn("Warm-up template {} not found on the classpath", location);
+                    continue;
+                }
+                samples.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                log.warn("Unable to read warm-up template {}", location, e);
+            }
+        }
+        if (samples.isEmpty()) {
+            samples.add(SAMPLE_CERTIFICATE);
+        }
+        return samples;
+    }
+}
@@ -1,16 +1,13 @@
 package com.io.chenosis.digitalcertificate.service.flyingsaucer;
 
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.xhtmlrenderer.pdf.ITextRenderer;
 
-import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.function.UnaryOperator;
 
 /**
  * Represents the HtmlToPdfWithPDFBox class in the chenosis-digital-certificate project.
@@ -32,38 +29,13 @@ import java.nio.file.Paths;
 public class HtmlToPdfWithPDFBox {
 
 
-    private static String htmlToXhtml(String html) {
-        Document document = Jsoup.parse(html);
-        document.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
-        return document.html();
-    }
-
-    private static void xhtmlToPdf(String xhtml, String outFileName) throws IOException {
-        File output = new File(outFileName);
-        ITextRenderer iTextRenderer = new ITextRenderer();
-        iTextRenderer.setDocumentFromString(xhtml);
-        iTextRenderer.layout();
-        OutputStream os = new FileOutputStream(output);
-        iTextRenderer.createPDF(os);
-        os.close();
-    }
+    private static final ConversionPipeline PIPELINE = new ConversionPipeline(RendererPool.getDefault());
 
     public static void convertHtmlToPdf(String htmlContent, String outputFilePath) {
         try (OutputStream os = new FileOutputStream(outputFilePath)) {
-            // Clean and parse the HTML content using Jsoup
-//            Document jsoupDocument = Jsoup.parse(htmlContent);
-//            String cleanedHtml = jsoupDocument.html();
-            String cleanedHtml = htmlToXhtml(htmlContent);
-
-            // Create a renderer instance
-            ITextRenderer renderer = new ITextRenderer();
-
-            // Set the HTML content
-            renderer.setDocumentFromString(cleanedHtml.startsWith("<!DOCTYPE html>") ? cleanedHtml : "<!DOCTYPE html>" + cleanedHtml);
-
-            // Layout and create the PDF
-            renderer.layout();
-            renderer.createPDF(os);
+            // Clean and parse the HTML content using Jsoup; the parsed DOM goes straight to the renderer,
+            // so no XHTML string or DOCTYPE fix-up is needed
+            PIPELINE.render(() -> Jsoup.parse(htmlContent), os, UnaryOperator.identity());
 
             System.out.println("PDF created successfully at: " + outputFilePath);
         } catch (Exception e) {
@@ -74,11 +46,10 @@ public class HtmlToPdfWithPDFBox {
     public static void main(String[] args) throws IOException {
 
         // Load your HTML document
+        // Streamed into the parser, not read into a String first
         Path path = Paths.get("index.html");
-        String html = Files.readString(path);
-//        convertHtmlToPdf(html, "HtmlToPdf.pdf");
         HtmlToPdf htmlToPdf = new HtmlToPdf();
-        htmlToPdf.converHtmlToPdf(html, "HtmlToPdf.pdf");
+        htmlToPdf.converHtmlToPdf(path, "HtmlToPdf.pdf");
 
 
 
@@ -1,8 +1,9 @@
 package com.io.chenosis.digitalcertificate.service.flyingsaucer;
 
 
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ImageOptimizer;
 import com.lowagie.text.Image;
-import org.apache.commons.io.IOUtils;
+import org.jsoup.nodes.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Element;
@@ -17,29 +18,72 @@ import org.xhtmlrenderer.render.BlockBox;
 import org.xhtmlrenderer.simple.extend.FormSubmissionListener;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Replaced element in order to replace elements like
  * <tt>&lt;div class="media" data-src="image.png" /></tt> with the real
  * media content.
  */
-public class MediaReplacedElementFactory implements ReplacedElementFactory {
+public class MediaReplacedElementFactory implements PrefetchingReplacedElementFactory {
 
 
-    String dirPath = System.getProperty("user.home");
+    static final Path DEFAULT_MEDIA_ROOT = Paths.get(System.getProperty("user.home"));
 
     Logger log = LoggerFactory.getLogger(getClass());
 
-    File file;
+    private final Path mediaRoot;
 
+    private final ImageOptimizer imageOptimizer;
+
+    private final DocumentImageRegistry imageRegistry;
+
+    private final boolean ownsImageRegistry;
+
+    private final DataUriImages dataUriImages;
+
+    private Map<URI, Image> prefetchedImages = Map.of();
 
     private final ReplacedElementFactory superFactory;
 
+    public MediaReplacedElementFactory(ReplacedElementFactory superFactory) {
+        this(superFactory, DEFAULT_MEDIA_ROOT, ImageOptimizer.getDefault());
+    }
+
+    /**
+     * Resolves {@code data-src} against {@code file} when it is a directory, otherwise against its parent directory.
+     */
     public MediaReplacedElementFactory(ReplacedElementFactory superFactory, File file) {
+        this(superFactory, mediaRootOf(file), ImageOptimizer.getDefault());
+    }
+
+    public MediaReplacedElementFactory(ReplacedElementFactory superFactory, Path mediaRoot, ImageOptimizer imageOptimizer) {
+        this(superFactory, mediaRoot, imageOptimizer, null);
+    }
+
+    /**
+     * @param imageRegistry registry shared by all documents written into one PDF, which is then not cleared on
+     *                      {@link #reset()}; {@code null} to track images per document
+     */
+    public MediaReplacedElementFactory(ReplacedElementFactory superFactory, Path mediaRoot, ImageOptimizer imageOptimizer,
+                                       DocumentImageRegistry imageRegistry) {
         this.superFactory = superFactory;
-        this.file = file;
+        this.mediaRoot = mediaRoot.toAbsolutePath().normalize();
+        this.imageOptimizer = imageOptimizer;
+        this.ownsImageRegistry = imageRegistry == null;
+        this.imageRegistry = imageRegistry != null ? imageRegistry : new DocumentImageRegistry();
+        this.dataUriImages = new DataUriImages(this.imageRegistry);
+    }
+
+    static Path mediaRootOf(File file) {
+        return file.isDirectory() ? file.toPath() : file.getAbsoluteFile().getParentFile().toPath();
     }
 
     @Override
@@ -56,11 +100,24 @@ public class MediaReplacedElementFactory implements ReplacedElementFactory {
             if (!element.hasAttribute("data-src")) {
                 throw new RuntimeException("An element with class `media` is missing a `data-src` attribute indicating the media file.");
             }
-            InputStream input = null;
             try {
-                input = new FileInputStream(file);
-                final byte[] bytes = IOUtils.toByteArray(input);
-                final Image image = Image.getInstance(bytes);
+                String dataSrc = element.getAttribute("data-src");
+                // Inline images are decoded once per document; files are served from the shared cache, resampled
+                // for the display box once per file version. Repeated references share one image XObject.
+                final Image image;
+                if (DataUriImages.isDataUri(dataSrc)) {
+                    image = dataUriImages.getImage(dataSrc);
+                } else if (AssetPrefetcher.isRemote(dataSrc)) {
+                    // Remote media is only available when the pipeline prefetched it
+                    Image remote = prefetchedImages.get(AssetPrefetcher.toUri(dataSrc, mediaRoot));
+                    if (remote == null) {
+                        throw new IOException("Remote media was not prefetched: " + dataSrc);
+                    }
+                    image = imageRegistry.getImage(dataSrc, -1, -1, () -> remote);
+                } else {
+                    image = imageRegistry.getImage(dataSrc, cssWidth, cssHeight, () -> imageOptimizer.getImage(resolve(dataSrc),
+                            cssWidth, cssHeight, layoutContext.getSharedContext().getDotsPerPixel()));
+                }
                 final FSImage fsImage = new ITextFSImage(image);
                 if (fsImage != null) {
                     if ((cssWidth != -1) || (cssHeight != -1)) {
@@ -70,15 +127,49 @@ public class MediaReplacedElementFactory implements ReplacedElementFactory {
                 }
             } catch (Exception e) {
                 throw new RuntimeException("There was a problem trying to read a template embedded graphic.", e);
-            } finally {
-                IOUtils.closeQuietly(input);
             }
         }
         return this.superFactory.createReplacedElement(layoutContext, blockBox, userAgentCallback, cssWidth, cssHeight);
     }
 
+    private Path resolve(String dataSrc) {
+        Path media = mediaRoot.resolve(dataSrc).normalize();
+        if (!media.startsWith(mediaRoot)) {
+            throw new RuntimeException("The media file `" + dataSrc + "` is outside of the media root.");
+        }
+        return media;
+    }
+
+    @Override
+    public Collection<URI> findAssets(Document document) {
+        Set<URI> assets = new LinkedHashSet<>();
+        for (org.jsoup.nodes.Element media : document.select("div[class=media][data-src]")) {
+            String dataSrc = media.attr("data-src");
+            URI asset = AssetPrefetcher.toUri(dataSrc, mediaRoot);
+            // Files outside the media root are rejected during layout; never load them
+            if (asset != null && (AssetPrefetcher.isRemote(dataSrc) || Paths.get(asset).startsWith(mediaRoot))) {
+                assets.add(asset);
+            }
+        }
+        if (superFactory instanceof PrefetchingReplacedElementFactory prefetching) {
+            assets.addAll(prefetching.findAssets(document));
+        }
+        return assets;
+    }
+
+    @Override
+    public void setPrefetchedImages(Map<URI, Image> images) {
+        this.prefetchedImages = images;
+        if (superFactory instanceof PrefetchingReplacedElementFactory prefetching) {
+            prefetching.setPrefetchedImages(images);
+        }
+    }
+
     @Override
     public void reset() {
+        if (ownsImageRegistry) {
+            imageRegistry.clear();
+        }
         this.superFactory.reset();
     }
 
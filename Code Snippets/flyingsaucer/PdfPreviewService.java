@@ -0,0 +1,150 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.SingleFlight;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.WeightedLruCache;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Represents the PdfPreviewService class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class PdfPreviewService
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description PNG previews of single pages of generated PDFs, rasterised with PDFBox and kept in a byte-bounded
+ * cache keyed by document hash, page and DPI.
+ * @notes <ul>
+ * <li>Previews are generated lazily: the PDF is only loaded when the preview is not cached.</li>
+ * <li>Concurrent requests for the same preview rasterise it once.</li>
+ * <li>Only the requested page is rendered; the rest of the document is never rasterised.</li>
+ * <li>Requests above the maximum DPI (300 by default) are rejected, since the whole page bitmap is allocated at
+ * once.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+@Service
+public class PdfPreviewService {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * An A4 page at 300 dpi is about 2500 x 3500 pixels, some 35 MB while it is rasterised.
+     */
+    public static final float DEFAULT_MAX_DPI = 300f;
+
+    private final WeightedLruCache<Key, byte[]> previews;
+    private final float maxDpi;
+    private final SingleFlight<Key, byte[]> rasterisations = new SingleFlight<>();
+
+    public PdfPreviewService() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public PdfPreviewService(long maxBytes) {
+        this(maxBytes, DEFAULT_MAX_DPI);
+    }
+
+    /**
+     * @param maxDpi highest resolution a preview may be requested at; the rasterised page is held in memory in full
+     */
+    public PdfPreviewService(long maxBytes, float maxDpi) {
+        if (maxDpi <= 0) {
+            throw new IllegalArgumentException("Invalid maximum preview resolution: " + maxDpi + " dpi");
+        }
+        this.previews = new WeightedLruCache<>(maxBytes);
+        this.maxDpi = maxDpi;
+    }
+
+    /**
+     * Hash identifying a PDF in the preview cache.
+     */
+    public static String documentHash(byte[] pdf) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(pdf));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public byte[] getPreview(byte[] pdf, int pageIndex, float dpi) throws IOException {
+        return getPreview(documentHash(pdf), () -> pdf, pageIndex, dpi);
+    }
+
+    /**
+     * Returns the PNG preview of one page, rasterising it on a miss.
+     *
+     * @param documentHash identifies the PDF, e.g. {@link #documentHash(byte[])} or a content hash already stored
+     *                     with the document
+     * @param pdf          supplies the PDF bytes; only called when the preview is not cached
+     * @param pageIndex    zero-based page index
+     * @param dpi          resolution, at most the configured maximum
+     */
+    public byte[] getPreview(String documentHash, SingleFlight.Loader<byte[]> pdf, int pageIndex, float dpi) throws IOException {
+        if (pageIndex < 0 || dpi <= 0 || dpi > maxDpi) {
+            throw new IllegalArgumentException("Invalid preview request: page " + pageIndex + " at " + dpi + " dpi");
+        }
+        Key key = new Key(documentHash, pageIndex, dpi);
+        byte[] preview = previews.get(key);
+        if (preview != null) {
+            return preview;
+        }
+        return rasterisations.execute(key, () -> {
+            // Already counted as a miss above
+            byte[] cached = previews.peek(key);
+            if (cached != null) {
+                return cached;
+            }
+            byte[] rendered = rasterise(pdf.load(), pageIndex, dpi);
+            previews.put(key, rendered, rendered.length);
+            return rendered;
+        });
+    }
+
+    private static byte[] rasterise(byte[] pdf, int pageIndex, float dpi) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            if (pageIndex >= document.getNumberOfPages()) {
+                throw new IllegalArgumentException("Page " + pageIndex + " does not exist; the document has "
+                        + document.getNumberOfPages() + " page(s)");
+            }
+            BufferedImage image = new PDFRenderer(document).renderImageWithDPI(pageIndex, dpi, ImageType.RGB);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+    }
+
+    public void invalidateAll() {
+        previews.clear();
+    }
+
+    public long getHitCount() {
+        return previews.getHitCount();
+    }
+
+    public long getMissCount() {
+        return previews.getMissCount();
+    }
+
+    public long getSizeInBytes() {
+        return previews.getWeight();
+    }
+
+    private record Key(String documentHash, int pageIndex, float dpi) {
+    }
+}
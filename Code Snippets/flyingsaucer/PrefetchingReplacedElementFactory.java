@@ -0,0 +1,40 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.lowagie.text.Image;
+import org.jsoup.nodes.Document;
+import org.xhtmlrenderer.extend.ReplacedElementFactory;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Represents the PrefetchingReplacedElementFactory interface in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class PrefetchingReplacedElementFactory
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Replaced element factory whose assets can be loaded by the {@link ConversionPipeline} prefetch stage
+ * before layout.
+ * @notes <ul>
+ * <li>The factory resolves references itself, so the prefetch stage loads exactly what layout will ask for.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public interface PrefetchingReplacedElementFactory extends ReplacedElementFactory {
+
+    /**
+     * Assets this factory will load while laying out {@code document}.
+     */
+    Collection<URI> findAssets(Document document);
+
+    /**
+     * Remote images loaded for the next document; replaces the images of the previous one.
+     */
+    void setPrefetchedImages(Map<URI, Image> images);
+}
@@ -0,0 +1,39 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+/**
+ * Represents the RenderAbortedException class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class RenderAbortedException
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Thrown from inside a render when its {@link RenderGuard} stops it. Budget violations are reported
+ * with the {@link RenderBudgetExceededException} subtype.
+ * @notes <ul>
+ * <li>Unchecked, because it has to travel through the renderer's layout code.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class RenderAbortedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Reason reason;
+
+    public RenderAbortedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public enum Reason {
+        CANCELLED, DEADLINE_EXCEEDED, INPUT_TOO_LARGE, TOO_MANY_PAGES, LAYOUT_TIME_EXCEEDED, ALLOCATION_EXCEEDED
+    }
+}
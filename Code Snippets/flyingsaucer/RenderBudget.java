@@ -0,0 +1,57 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import java.time.Duration;
+
+/**
+ * Represents the RenderBudget record in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class RenderBudget
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Resource limits of a single render, enforced by its {@link RenderGuard}. A render that exceeds one
+ * is aborted with a {@link RenderBudgetExceededException}.
+ * @notes <ul>
+ * <li>{@code maxInputBytes} is the UTF-8 size of the HTML, or the size of an HTML file in bytes, checked before
+ * parsing.</li>
+ * <li>{@code maxPages} is checked after each layout, before anything is written.</li>
+ * <li>{@code maxLayoutTime} is the time spent in layout.</li>
+ * <li>Input size, pages and layout time are summed over all documents or chunks written into one PDF.</li>
+ * <li>{@code maxAllocatedBytes} approximates heap use by the bytes the rendering thread allocates while it holds
+ * the renderer, i.e. during prefetch, layout and PDF write but not parsing. It counts garbage too, so leave
+ * generous headroom. Layout is checked as it runs; the other stages are checked when they end, so the PDF write is
+ * caught only after it has finished.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public record RenderBudget(long maxInputBytes, int maxPages, Duration maxLayoutTime, long maxAllocatedBytes) {
+
+    public static final RenderBudget UNLIMITED =
+            new RenderBudget(Long.MAX_VALUE, Integer.MAX_VALUE, Duration.ofNanos(Long.MAX_VALUE), Long.MAX_VALUE);
+
+    public RenderBudget {
+        if (maxInputBytes < 1 || maxPages < 1 || maxLayoutTime.isNegative() || maxLayoutTime.isZero() || maxAllocatedBytes < 1) {
+            throw new IllegalArgumentException("Render budget limits must be positive");
+        }
+    }
+
+    public RenderBudget withMaxInputBytes(long maxInputBytes) {
+        return new RenderBudget(maxInputBytes, maxPages, maxLayoutTime, maxAllocatedBytes);
+    }
+
+    public RenderBudget withMaxPages(int maxPages) {
+        return new RenderBudget(maxInputBytes, maxPages, maxLayoutTime, maxAllocatedBytes);
+    }
+
+    public RenderBudget withMaxLayoutTime(Duration maxLayoutTime) {
+        return new RenderBudget(maxInputBytes, maxPages, maxLayoutTime, maxAllocatedBytes);
+    }
+
+    public RenderBudget withMaxAllocatedBytes(long maxAllocatedBytes) {
+        return new RenderBudget(maxInputBytes, maxPages, maxLayoutTime, maxAllocatedBytes);
+    }
+}
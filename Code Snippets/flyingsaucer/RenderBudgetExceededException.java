@@ -0,0 +1,41 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+/**
+ * Represents the RenderBudgetExceededException class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class RenderBudgetExceededException
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Thrown when a render goes over one of the limits of its {@link RenderBudget}.
+ * @notes <ul>
+ * <li>The reason names the limit; the limit and the observed value are in the units of that limit (bytes, pages
+ * or nanoseconds).</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class RenderBudgetExceededException extends RenderAbortedException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long limit;
+    private final long actual;
+
+    public RenderBudgetExceededException(Reason reason, long limit, long actual) {
+        super(reason, "Render exceeded its " + reason + " budget: " + actual + " > " + limit);
+        this.limit = limit;
+        this.actual = actual;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getActual() {
+        return actual;
+    }
+}
@@ -0,0 +1,167 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import java.time.Duration;
+
+/**
+ * Represents the RenderGuard class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class RenderGuard
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Cancellation flag, deadline and {@link RenderBudget} of a single render, checked between pipeline
+ * stages and for every element the renderer styles during layout.
+ * @notes <ul>
+ * <li>The pipeline attaches the guard to the rendering thread; {@link GuardedStyleReference} checks it from
+ * inside layout, which is what makes cancellation, deadlines and budgets actually stop a long layout.</li>
+ * <li>Allocation is sampled every {@value #ALLOCATION_CHECK_INTERVAL} checkpoints to keep the check cheap, and
+ * once more at the end of every stage.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class RenderGuard {
+
+    static final int ALLOCATION_CHECK_INTERVAL = 64;
+
+    private static final ThreadLocal<RenderGuard> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long timeoutNanos;
+    private final RenderBudget budget;
+
+    private volatile boolean cancelled;
+
+    // Only touched by the rendering thread
+    private long layoutNanos;
+    private long layoutStartNanos = -1;
+    private int pages;
+    private long inputBytes;
+    private long allocatedBaseline = -1;
+    private int checkpoints;
+
+    private RenderGuard(long timeoutNanos, RenderBudget budget) {
+        this.timeoutNanos = timeoutNanos;
+        this.budget = budget;
+    }
+
+    public static RenderGuard unbounded() {
+        return new RenderGuard(Long.MAX_VALUE, RenderBudget.UNLIMITED);
+    }
+
+    public static RenderGuard withDeadline(Duration timeout) {
+        return new RenderGuard(timeout.toNanos(), RenderBudget.UNLIMITED);
+    }
+
+    public static RenderGuard withBudget(RenderBudget budget) {
+        return new RenderGuard(Long.MAX_VALUE, budget);
+    }
+
+    public static RenderGuard withBudget(RenderBudget budget, Duration timeout) {
+        return new RenderGuard(timeout.toNanos(), budget);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Throws {@link RenderAbortedException} once the render has been cancelled or has run past its deadline.
+     */
+    public void checkpoint() {
+        if (cancelled) {
+            throw new RenderAbortedException(RenderAbortedException.Reason.CANCELLED, "Render was cancelled");
+        }
+        if (System.nanoTime() - startNanos > timeoutNanos) {
+            throw new RenderAbortedException(RenderAbortedException.Reason.DEADLINE_EXCEEDED,
+                    "Render exceeded its deadline of " + Duration.ofNanos(timeoutNanos));
+        }
+        if (layoutStartNanos >= 0) {
+            long layout = layoutNanos + System.nanoTime() - layoutStartNanos;
+            if (layout > budget.maxLayoutTime().toNanos()) {
+                throw new RenderBudgetExceededException(RenderAbortedException.Reason.LAYOUT_TIME_EXCEEDED,
+                        budget.maxLayoutTime().toNanos(), layout);
+            }
+        }
+        if (++checkpoints % ALLOCATION_CHECK_INTERVAL == 0) {
+            checkAllocation();
+        }
+    }
+
+    /**
+     * Compares what the rendering thread has allocated since {@link #attach()} with the budget. Called at the end of
+     * every pipeline stage, so stages without checkpoints of their own, such as the PDF write, are counted too.
+     */
+    void checkAllocation() {
+        if (allocatedBaseline < 0) {
+            return;
+        }
+        long allocated = ConversionPipeline.allocatedBytes() - allocatedBaseline;
+        if (allocated > budget.maxAllocatedBytes()) {
+            throw new RenderBudgetExceededException(RenderAbortedException.Reason.ALLOCATION_EXCEEDED,
+                    budget.maxAllocatedBytes(), allocated);
+        }
+    }
+
+    /**
+     * Time left until the deadline, {@code 0} once it has passed.
+     */
+    long remainingNanos() {
+        if (timeoutNanos == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, timeoutNanos - (System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Counts a document's input against the budget before any work is done on it.
+     */
+    public void checkInput(long documentBytes) {
+        inputBytes += documentBytes;
+        if (inputBytes > budget.maxInputBytes()) {
+            throw new RenderBudgetExceededException(RenderAbortedException.Reason.INPUT_TOO_LARGE,
+                    budget.maxInputBytes(), inputBytes);
+        }
+    }
+
+    void startLayout() {
+        layoutStartNanos = System.nanoTime();
+    }
+
+    void endLayout() {
+        layoutNanos += System.nanoTime() - layoutStartNanos;
+        layoutStartNanos = -1;
+    }
+
+    /**
+     * Counts the pages of a finished layout against the budget.
+     */
+    void addPages(int laidOut) {
+        pages += laidOut;
+        if (pages > budget.maxPages()) {
+            throw new RenderBudgetExceededException(RenderAbortedException.Reason.TOO_MANY_PAGES, budget.maxPages(), pages);
+        }
+    }
+
+    static RenderGuard current() {
+        return CURRENT.get();
+    }
+
+    void attach() {
+        CURRENT.set(this);
+        if (budget.maxAllocatedBytes() != Long.MAX_VALUE) {
+            allocatedBaseline = ConversionPipeline.allocatedBytes();
+        }
+    }
+
+    void detach() {
+        CURRENT.remove();
+    }
+}
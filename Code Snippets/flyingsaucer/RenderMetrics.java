@@ -0,0 +1,61 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the RenderMetrics class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class RenderMetrics
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Wall time and heap allocation of each {@link ConversionPipeline.Stage} of a single render.
+ * @notes <ul>
+ * <li>Allocation is -1 when the JVM does not support per-thread allocation accounting.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class RenderMetrics {
+
+    private final Map<ConversionPipeline.Stage, StageTiming> stages = new EnumMap<>(ConversionPipeline.Stage.class);
+
+    /**
+     * Adds to the stage's totals, so stages that run once per chunk report their sum.
+     */
+    void record(ConversionPipeline.Stage stage, long wallNanos, long allocatedBytes) {
+        stages.merge(stage, new StageTiming(wallNanos, allocatedBytes), (previous, current) -> new StageTiming(
+                previous.wallNanos() + current.wallNanos(),
+                previous.allocatedBytes() < 0 ? -1 : previous.allocatedBytes() + current.allocatedBytes()));
+    }
+
+    public StageTiming get(ConversionPipeline.Stage stage) {
+        return stages.get(stage);
+    }
+
+    public Map<ConversionPipeline.Stage, StageTiming> getStages() {
+        return Collections.unmodifiableMap(stages);
+    }
+
+    public long getTotalNanos() {
+        return stages.values().stream().mapToLong(StageTiming::wallNanos).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RenderMetrics[");
+        stages.forEach((stage, timing) -> sb.append(stage).append('=')
+                .append(TimeUnit.NANOSECONDS.toMillis(timing.wallNanos())).append("ms/")
+                .append(timing.allocatedBytes()).append("B "));
+        return sb.append("total=").append(TimeUnit.NANOSECONDS.toMillis(getTotalNanos())).append("ms]").toString();
+    }
+
+    public record StageTiming(long wallNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ResourceCache;
+import com.lowagie.text.DocumentException;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.xhtmlrenderer.extend.ReplacedElementFactory;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the RendererPool class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class RendererPool
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Bounded pool of pre-initialised {@link ITextRenderer} instances so that a render only pays for
+ * parse, layout and write instead of re-creating the shared context, font resolver and replaced element factory.
+ * @notes <ul>
+ * <li>Renderers are created eagerly with the {@link FontRegistry} fonts already registered; fonts added to the
+ * registry later are applied when a renderer is next borrowed.</li>
+ * <li>Callers may swap the replaced element factory for the duration of a lease; it is restored on release.</li>
+ * <li>On release the renderer's document is replaced with an empty one, so idle renderers hold no layout.</li>
+ * <li>A renderer whose callback failed is discarded and replaced with a fresh one.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class RendererPool {
+
+    public static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final BlockingQueue<ITextRenderer> idle;
+
+    private final Map<ITextRenderer, ReplacedElementFactory> defaultFactories =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final Map<ITextRenderer, Integer> appliedFonts =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final FontRegistry fontRegistry;
+
+    private final ResourceCache resourceCache;
+
+    private final String baseUrl;
+
+    public RendererPool() {
+        this(DEFAULT_SIZE, FontRegistry.getDefault());
+    }
+
+    public RendererPool(int size, FontRegistry fontRegistry) {
+        this(size, fontRegistry, ResourceCache.getDefault(), null);
+    }
+
+    /**
+     * @param baseUrl base for relative stylesheet and image URLs of documents rendered without their own base URL,
+     *                see {@link CachingUserAgentCallback#classpathBase(String)} and
+     *                {@link CachingUserAgentCallback#directoryBase(java.nio.file.Path)}; may be {@code null}
+     */
+    public RendererPool(int size, FontRegistry fontRegistry, ResourceCache resourceCache, String baseUrl) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Renderer pool size must be at least 1: " + size);
+        }
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.fontRegistry = fontRegistry;
+        this.resourceCache = resourceCache;
+        this.baseUrl = baseUrl;
+        for (int i = 0; i < size; i++) {
+            idle.add(newRenderer());
+        }
+    }
+
+    /**
+     * Shared pool used by the static entry points and by {@link HtmlToPdf} when no pool is supplied.
+     */
+    public static RendererPool getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Borrows a renderer, hands it to the callback and returns it to the pool afterwards.
+     * Blocks while all renderers are in use.
+     */
+    public <T> T execute(RendererCallback<T> callback) throws IOException, DocumentException {
+        return execute(RenderGuard.unbounded(), callback);
+    }
+
+    /**
+     * Like {@link #execute(RendererCallback)}, but stops waiting for a renderer with a {@link RenderAbortedException}
+     * once the guard is cancelled or its deadline passes, so aborted renders do not queue up behind busy ones.
+     */
+    public <T> T execute(RenderGuard guard, RendererCallback<T> callback) throws IOException, DocumentException {
+        ITextRenderer renderer = acquire(guard);
+        boolean healthy = false;
+        try {
+            T result = callback.doWithRenderer(renderer);
+            healthy = true;
+            return result;
+        } finally {
+            release(renderer, healthy);
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Base for relative URLs of documents rendered without their own base URL, or {@code null}.
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private ITextRenderer acquire(RenderGuard guard) throws InterruptedIOException {
+        try {
+            guard.checkpoint();
+            ITextRenderer renderer;
+            // Cancellation is only a flag, so wait in slices to notice it
+            while ((renderer = idle.poll(Math.min(guard.remainingNanos(), WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS)) == null) {
+                guard.checkpoint();
+            }
+            int applied = appliedFonts.get(renderer);
+            if (applied != fontRegistry.getVersion()) {
+                // Fonts registered after this renderer was created; already parsed, so this is a cheap lookup
+                appliedFonts.put(renderer, fontRegistry.applyTo(renderer, applied));
+            }
+            return renderer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a pooled renderer");
+        }
+    }
+
+    private void release(ITextRenderer renderer, boolean healthy) {
+        ITextRenderer next = renderer;
+        if (healthy) {
+            ReplacedElementFactory defaultFactory = defaultFactories.get(renderer);
+            renderer.getSharedContext().getReplacedElementFactory().reset();
+            renderer.getSharedContext().setReplacedElementFactory(defaultFactory);
+            try {
+                clearDocument(renderer);
+            } catch (RuntimeException e) {
+                healthy = false;
+            }
+        }
+        if (!healthy) {
+            defaultFactories.remove(renderer);
+            appliedFonts.remove(renderer);
+            next = newRenderer();
+        }
+        idle.offer(next);
+    }
+
+    /**
+     * Swaps the last document for an empty one, so an idle renderer does not keep the DOM, box tree and layer tree
+     * of a large document reachable until it is borrowed again.
+     */
+    private static void clearDocument(ITextRenderer renderer) {
+        renderer.setDocument(new W3CDom().fromJsoup(Document.createShell("")), null);
+        renderer.layout();
+    }
+
+    private ITextRenderer newRenderer() {
+        // Left at the ITextRenderer defaults (print media, non-interactive), like the renderers it replaces
+        ITextRenderer renderer = new ITextRenderer();
+        CachingUserAgentCallback userAgent = new CachingUserAgentCallback(renderer.getOutputDevice(), resourceCache, baseUrl);
+        userAgent.setSharedContext(renderer.getSharedContext());
+        renderer.getSharedContext().setUserAgentCallback(userAgent);
+        renderer.getSharedContext().setCss(new GuardedStyleReference(userAgent));
+        appliedFonts.put(renderer, fontRegistry.applyTo(renderer, 0));
+        defaultFactories.put(renderer, renderer.getSharedContext().getReplacedElementFactory());
+        return renderer;
+    }
+
+    @FunctionalInterface
+    public interface RendererCallback<T> {
+        T doWithRenderer(ITextRenderer renderer) throws IOException, DocumentException;
+    }
+
+    private static final class DefaultHolder {
+        private static final RendererPool INSTANCE = new RendererPool();
+    }
+}
@@ -1,13 +1,13 @@
 package com.io.chenosis.digitalcertificate.service.flyingsaucer;
 
 
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ImageOptimizer;
 import com.lowagie.text.BadElementException;
 import com.lowagie.text.Image;
-import org.apache.commons.io.IOUtils;
+import org.jsoup.nodes.Document;
 import org.w3c.dom.Element;
 import org.xhtmlrenderer.extend.FSImage;
 import org.xhtmlrenderer.extend.ReplacedElement;
-import org.xhtmlrenderer.extend.ReplacedElementFactory;
 import org.xhtmlrenderer.extend.UserAgentCallback;
 import org.xhtmlrenderer.layout.LayoutContext;
 import org.xhtmlrenderer.pdf.ITextFSImage;
@@ -16,11 +16,38 @@ import org.xhtmlrenderer.render.BlockBox;
 import org.xhtmlrenderer.simple.extend.FormSubmissionListener;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
-public class ReplacedElementFactoryImpl implements ReplacedElementFactory {
+public class ReplacedElementFactoryImpl implements PrefetchingReplacedElementFactory {
+
+    /**
+     * Relative {@code src} paths are opened relative to the working directory, like {@link Paths#get(String, String...)}.
+     */
+    private static final Path WORKING_DIRECTORY = Paths.get("").toAbsolutePath();
+
+    private final ImageOptimizer imageOptimizer;
+
+    private final DocumentImageRegistry imageRegistry = new DocumentImageRegistry();
+
+    private final DataUriImages dataUriImages = new DataUriImages(imageRegistry);
+
+    private Map<URI, Image> prefetchedImages = Map.of();
+
+    public ReplacedElementFactoryImpl() {
+        this(ImageOptimizer.getDefault());
+    }
+
+    public ReplacedElementFactoryImpl(ImageOptimizer imageOptimizer) {
+        this.imageOptimizer = imageOptimizer;
+    }
 
     @Override
     public ReplacedElement createReplacedElement(LayoutContext c, BlockBox box, UserAgentCallback uac, int cssWidth,
@@ -33,43 +60,82 @@ public class ReplacedElementFactoryImpl implements ReplacedElementFactory {
         // Look for img tag in the HTML
         if (nodeName.equals("img")) {
             String imagePath = e.getAttribute("src");
-            System.out.println("imagePath-- " + imagePath.substring(imagePath.indexOf(File.separatorChar) + 1));
+            if (!DataUriImages.isDataUri(imagePath)) {
+                System.out.println("imagePath-- " + imagePath.substring(imagePath.indexOf(File.separatorChar) + 1));
+            }
+            int width = cssWidth;
+            int height = cssHeight;
+            if (width == -1 && height == -1) {
+                width = 250;
+                height = 150;
+            }
             FSImage fsImage;
             try {
-                fsImage = getImageInstance(imagePath);
+                fsImage = getImageInstance(imagePath, width, height, c.getSharedContext().getDotsPerPixel());
             } catch (BadElementException e1) {
                 fsImage = null;
             } catch (IOException e1) {
                 fsImage = null;
             }
             if (fsImage != null) {
-                if (cssWidth != -1 || cssHeight != -1) {
-                    fsImage.scale(cssWidth, cssHeight);
-                } else {
-                    fsImage.scale(250, 150);
-                }
+                fsImage.scale(width, height);
                 return new ITextImageElement(fsImage);
             }
         }
         return null;
     }
 
-    private FSImage getImageInstance(String imagePath) throws IOException, BadElementException {
-        InputStream input = null;
+    private FSImage getImageInstance(String imagePath, int width, int height, float dotsPerPixel)
+            throws IOException, BadElementException {
         FSImage fsImage;
+        if (DataUriImages.isDataUri(imagePath)) {
+            // Inline image, decoded once per document
+            return new ITextFSImage(dataUriImages.getImage(imagePath));
+        }
+        if (AssetPrefetcher.isRemote(imagePath)) {
+            // Remote images are only available when the pipeline prefetched them
+            Image remote = prefetchedImages.get(AssetPrefetcher.toUri(imagePath, WORKING_DIRECTORY));
+            if (remote == null) {
+                throw new IOException("Remote image was not prefetched: " + imagePath);
+            }
+            return new ITextFSImage(imageRegistry.getImage(imagePath, -1, -1, () -> remote));
+        }
         // Removing "../" from image path like "../images/ExceptionPropagation.png"
 //        input = new FileInputStream(getClass().getClassLoader().getResource(
 //                imagePath.substring(imagePath.indexOf("/") + 1)).getFile());
-        input = new FileInputStream(imagePath);
-        final byte[] bytes = IOUtils.toByteArray(input);
-        final Image image = Image.getInstance(bytes);
+        // Resampled for the display box once per file version and shared across renders; we get our own copy to scale
+        final Image image;
+        try {
+            // Every reference to the same file at the same size shares one image XObject
+            image = imageRegistry.getImage(imagePath, width, height,
+                    () -> imageOptimizer.getImage(Paths.get(imagePath), width, height, dotsPerPixel));
+        } catch (InvalidPathException e) {
+            throw new IOException("Invalid image path " + imagePath, e);
+        }
         fsImage = new ITextFSImage(image);
         return fsImage;
     }
 
+    @Override
+    public Collection<URI> findAssets(Document document) {
+        Set<URI> assets = new LinkedHashSet<>();
+        for (org.jsoup.nodes.Element img : document.select("img[src]")) {
+            URI asset = AssetPrefetcher.toUri(img.attr("src"), WORKING_DIRECTORY);
+            if (asset != null) {
+                assets.add(asset);
+            }
+        }
+        return assets;
+    }
+
+    @Override
+    public void setPrefetchedImages(Map<URI, Image> images) {
+        this.prefetchedImages = images;
+    }
+
     @Override
     public void reset() {
-        // TODO Auto-generated method stub
+        imageRegistry.clear();
     }
 
     @Override
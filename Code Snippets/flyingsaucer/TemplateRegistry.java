@@ -0,0 +1,188 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Represents the TemplateRegistry class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class TemplateRegistry
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Keeps HTML templates parsed and normalised once, and binds per-record <tt>${name}</tt>
+ * placeholders into a copy of the cached DOM.
+ * @notes <ul>
+ * <li>Placeholders may appear in text content and in attribute values.</li>
+ * <li>A template registered again with different source is recompiled and counted as an invalidation.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class TemplateRegistry {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z0-9_.-]+)}");
+
+    private final ConcurrentMap<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Returns the compiled form of the template, compiling it on first use or when its source has changed.
+     */
+    public CompiledTemplate getTemplate(String templateId, String templateHtml) {
+        CompiledTemplate cached = templates.get(templateId);
+        if (cached != null && cached.source.equals(templateHtml)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        if (cached != null) {
+            invalidations.increment();
+        }
+        CompiledTemplate compiled = compile(templateHtml);
+        templates.put(templateId, compiled);
+        return compiled;
+    }
+
+    /**
+     * Shortcut for {@link #getTemplate(String, String)} followed by {@link CompiledTemplate#bind(Map)}.
+     */
+    public Document bind(String templateId, String templateHtml, Map<String, String> values) {
+        return getTemplate(templateId, templateHtml).bind(values);
+    }
+
+    public void invalidate(String templateId) {
+        if (templates.remove(templateId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.add(templates.size());
+        templates.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private CompiledTemplate compile(String templateHtml) {
+        // No base URI, so relative stylesheets and images resolve against the renderer pool's base URL
+        Document document = Jsoup.parse(templateHtml);
+        document.outputSettings().syntax(Document.OutputSettings.Syntax.xml);
+        List<Slot> slots = new ArrayList<>();
+        collectSlots(document, new ArrayList<>(), slots);
+        return new CompiledTemplate(templateHtml, document, Collections.unmodifiableList(slots));
+    }
+
+    private void collectSlots(Node node, List<Integer> path, List<Slot> slots) {
+        if (node instanceof TextNode textNode && PLACEHOLDER.matcher(textNode.getWholeText()).find()) {
+            slots.add(new Slot(toArray(path), null, textNode.getWholeText()));
+        } else if (node instanceof Element element) {
+            for (Attribute attribute : element.attributes()) {
+                if (PLACEHOLDER.matcher(attribute.getValue()).find()) {
+                    slots.add(new Slot(toArray(path), attribute.getKey(), attribute.getValue()));
+                }
+            }
+        }
+        for (int i = 0; i < node.childNodeSize(); i++) {
+            path.add(i);
+            collectSlots(node.childNode(i), path, slots);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    private static int[] toArray(List<Integer> path) {
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String substitute(String text, Map<String, String> values) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder sb = new StringBuilder(text.length());
+        while (matcher.find()) {
+            String value = values.get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalArgumentException("No value bound for template placeholder `" + matcher.group(1) + "`");
+            }
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    /**
+     * A template parsed into a normalised DOM, together with the locations of its placeholders.
+     */
+    public static final class CompiledTemplate {
+
+        private final String source;
+        private final Document document;
+        private final List<Slot> slots;
+
+        private CompiledTemplate(String source, Document document, List<Slot> slots) {
+            this.source = source;
+            this.document = document;
+            this.slots = slots;
+        }
+
+        /**
+         * Copies the cached DOM and fills in the placeholders. Only the recorded slots are visited,
+         * the rest of the tree is never scanned again.
+         */
+        public Document bind(Map<String, String> values) {
+            Document copy = document.clone();
+            for (Slot slot : slots) {
+                Node node = copy;
+                for (int index : slot.path) {
+                    node = node.childNode(index);
+                }
+                String bound = substitute(slot.text, values);
+                if (slot.attributeKey == null) {
+                    ((TextNode) node).text(bound);
+                } else {
+                    node.attr(slot.attributeKey, bound);
+                }
+            }
+            return copy;
+        }
+
+        public int getSlotCount() {
+            return slots.size();
+        }
+    }
+
+    private record Slot(int[] path, String attributeKey, String text) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.benchmark;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.HtmlToPdf;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.HtmlToPdfWithPDFBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Represents the HtmlToPdfBenchmark class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.benchmark
+ * @class HtmlToPdfBenchmark
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description JMH comparison of the HTML-to-PDF entry points over the checked-in corpus in {@code corpus/}.
+ * @notes <ul>
+ * <li>Throughput and sampled latency (p50/p99/...) are measured for every corpus document and path.</li>
+ * <li>{@link #main(String[])} adds the GC profiler, which reports allocation rate per operation.</li>
+ * <li>{@code image-heavy.html} references {@code ${imageDir}/seal.png}; the image is generated in setup.</li>
+ * <li>Every benchmark checks and returns the PDF it produced, so a failing render aborts the run instead of being
+ * measured.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HtmlToPdfBenchmark {
+
+    @Param({"small-certificate", "multi-page-report", "image-heavy", "table-heavy"})
+    public String document;
+
+    private HtmlToPdf htmlToPdf;
+    private String html;
+    private Path workDir;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("html-to-pdf-bench");
+        writeSealImage(workDir.resolve("seal.png"));
+        try (InputStream in = HtmlToPdfBenchmark.class.getResourceAsStream("corpus/" + document + ".html")) {
+            if (in == null) {
+                throw new IOException("Missing benchmark corpus document " + document);
+            }
+            html = new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("${imageDir}", workDir.toAbsolutePath().toString().replace('\\', '/'));
+        }
+        output = workDir.resolve("out.pdf");
+        htmlToPdf = new HtmlToPdf();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * The file entry points log and swallow failures, so a stale output file must not pass for a successful render.
+     */
+    @Setup(Level.Invocation)
+    public void deleteOutput() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public byte[] convertHtmltoPdfWithImage() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // The second argument names the media file; its directory becomes the data-src root
+        htmlToPdf.convertHtmltoPdfWithImage(html, workDir.resolve("seal.png").toString(), out);
+        return requirePdf(out.toByteArray());
+    }
+
+    @Benchmark
+    public byte[] writePdfDirect() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        htmlToPdf.writePdf(html, out, HtmlToPdf.OutputMode.DIRECT);
+        return requirePdf(out.toByteArray());
+    }
+
+    @Benchmark
+    public byte[] converHtmlToPdf() throws IOException {
+        htmlToPdf.converHtmlToPdf(html, output.toString());
+        return requirePdf(readOutput());
+    }
+
+    @Benchmark
+    public byte[] htmlToPdfWithPDFBox() throws IOException {
+        HtmlToPdfWithPDFBox.convertHtmlToPdf(html, output.toString());
+        return requirePdf(readOutput());
+    }
+
+    private byte[] readOutput() throws IOException {
+        if (!Files.exists(output)) {
+            throw new IllegalStateException("Render of " + document + " produced no output file");
+        }
+        return Files.readAllBytes(output);
+    }
+
+    /**
+     * Fails the benchmark instead of timing renders that did not produce a PDF.
+     */
+    private byte[] requirePdf(byte[] pdf) {
+        if (pdf.length < 4 || !"%PDF".equals(new String(pdf, 0, 4, StandardCharsets.US_ASCII))) {
+            throw new IllegalStateException("Render of " + document + " did not produce a PDF");
+        }
+        return pdf;
+    }
+
+    private static void writeSealImage(Path target) throws IOException {
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, 400, 400);
+            g.setColor(new Color(0xB8, 0x86, 0x0B));
+            g.setStroke(new BasicStroke(12));
+            g.drawOval(20, 20, 360, 360);
+            g.fillOval(120, 120, 160, 160);
+        } finally {
+            g.dispose();
+        }
+        ImageIO.write(image, "png", target.toFile());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HtmlToPdfBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
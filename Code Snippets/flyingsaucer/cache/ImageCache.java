@@ -0,0 +1,117 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.cache;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents the ImageCache class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.cache
+ * @class ImageCache
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Process-wide cache of decoded images used by the replaced element factories, keyed by file path and
+ * modification time and bounded by the size of the source files. Files are read through memory-mapped I/O.
+ * @notes <ul>
+ * <li>Callers always receive a copy, so scaling an image for one element never affects the cached instance.</li>
+ * <li>A file that changes on disk gets a new key; the stale entry ages out of the LRU.</li>
+ * <li>The file's bytes are kept next to the decoded image, so a file loaded by the prefetch stage is never read
+ * again during layout, not even to resample it.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class ImageCache {
+
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private final WeightedLruCache<Key, Source> cache;
+
+    public ImageCache(long maxBytes) {
+        this.cache = new WeightedLruCache<>(maxBytes);
+    }
+
+    public static ImageCache getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public Image getImage(Path path) throws IOException, BadElementException {
+        return Image.getInstance(getSource(path).image());
+    }
+
+    /**
+     * The cached entry itself, including the bytes of the file, so the {@link ImageOptimizer} can resample it
+     * without reading the file again. Neither the image nor the bytes may be modified.
+     */
+    Source getSource(Path path) throws IOException, BadElementException {
+        Path file = path.toAbsolutePath().normalize();
+        Key key = new Key(file, Files.getLastModifiedTime(file).toMillis());
+        Source source = cache.get(key);
+        if (source == null) {
+            byte[] bytes = readMapped(file);
+            source = new Source(file, key.lastModified(), Image.getInstance(bytes), bytes);
+            cache.put(key, source, bytes.length);
+        }
+        return source;
+    }
+
+    /**
+     * Reads the file through a read-only mapping, copying it once straight into an exactly sized array.
+     */
+    private static byte[] readMapped(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Image file is too large to embed: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            byte[] bytes = new byte[(int) size];
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public double getHitRatio() {
+        return cache.getHitRatio();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    public long getSizeInBytes() {
+        return cache.getWeight();
+    }
+
+    private record Key(Path path, long lastModified) {
+    }
+
+    record Source(Path path, long lastModified, Image image, byte[] bytes) {
+    }
+
+    private static final class DefaultHolder {
+        private static final ImageCache INSTANCE = new ImageCache(DEFAULT_MAX_BYTES);
+    }
+}
@@ -0,0 +1,205 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.cache;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Represents the ImageOptimizer class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.cache
+ * @class ImageOptimizer
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Downsamples images to a target resolution for the box they are displayed in and recompresses them,
+ * so the PDF embeds what is shown rather than the full-resolution original.
+ * @notes <ul>
+ * <li>Opaque images are re-encoded as JPEG at the configured quality, images with transparency (or a quality of
+ * {@code 0}) as PNG, which is embedded Flate-compressed.</li>
+ * <li>Images are never upscaled, and the original is kept when re-encoding would not make it smaller or ImageIO
+ * cannot decode it.</li>
+ * <li>Results are cached per file version and pixel size; concurrent requests for the same result share one
+ * resample.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class ImageOptimizer {
+
+    public static final int DEFAULT_TARGET_DPI = 150;
+    public static final float DEFAULT_JPEG_QUALITY = 0.8f;
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * CSS pixels per inch; layout dots per inch are {@code dotsPerPixel * CSS_PIXELS_PER_INCH}.
+     */
+    private static final float CSS_PIXELS_PER_INCH = 96f;
+
+    private final ImageCache imageCache;
+    private final int targetDpi;
+    private final float jpegQuality;
+    private final WeightedLruCache<Key, Image> cache;
+    private final SingleFlight<Key, Image> resamples = new SingleFlight<>();
+
+    /**
+     * @param jpegQuality JPEG quality between {@code 0} and {@code 1}; {@code 0} re-encodes everything losslessly
+     */
+    public ImageOptimizer(ImageCache imageCache, int targetDpi, float jpegQuality, long maxBytes) {
+        if (targetDpi < 1 || jpegQuality < 0f || jpegQuality > 1f) {
+            throw new IllegalArgumentException("Invalid image settings: " + targetDpi + " dpi, quality " + jpegQuality);
+        }
+        this.imageCache = imageCache;
+        this.targetDpi = targetDpi;
+        this.jpegQuality = jpegQuality;
+        this.cache = new WeightedLruCache<>(maxBytes);
+    }
+
+    public static ImageOptimizer getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Returns a copy of the image at {@code path} sized for a box of {@code boxWidth} x {@code boxHeight} layout
+     * dots. Either dimension may be {@code -1} to keep the aspect ratio; with both unset the original is returned.
+     */
+    public Image getImage(Path path, int boxWidth, int boxHeight, float dotsPerPixel) throws IOException, BadElementException {
+        ImageCache.Source source = imageCache.getSource(path);
+        Image original = Image.getInstance(source.image());
+        if (boxWidth == -1 && boxHeight == -1) {
+            return original;
+        }
+        float sourceWidth = original.getWidth();
+        float sourceHeight = original.getHeight();
+        float width = boxWidth != -1 ? boxWidth : boxHeight * sourceWidth / sourceHeight;
+        float height = boxHeight != -1 ? boxHeight : boxWidth * sourceHeight / sourceWidth;
+        float dotsPerInch = dotsPerPixel * CSS_PIXELS_PER_INCH;
+        int targetWidth = Math.max(1, Math.round(width / dotsPerInch * targetDpi));
+        int targetHeight = Math.max(1, Math.round(height / dotsPerInch * targetDpi));
+        if (targetWidth >= sourceWidth || targetHeight >= sourceHeight) {
+            return original;
+        }
+        Key key = new Key(source.path(), source.lastModified(), targetWidth, targetHeight);
+        Image optimized = cache.get(key);
+        if (optimized == null) {
+            optimized = resamples.execute(key, () -> optimize(key, original, source.bytes()));
+        }
+        return Image.getInstance(optimized);
+    }
+
+    private Image optimize(Key key, Image original, byte[] bytes) throws IOException {
+        Image cached = cache.peek(key);
+        if (cached != null) {
+            return cached;
+        }
+        long originalSize = bytes.length;
+        BufferedImage source;
+        try {
+            // Decoded from the bytes the image cache already holds, so layout never reads the file
+            source = ImageIO.read(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            // e.g. CMYK JPEGs, which iText embeds fine but ImageIO cannot decode
+            source = null;
+        }
+        if (source == null) {
+            // Embed it as it is, and remember that so the decode is not attempted again
+            cache.put(key, original, originalSize);
+            return original;
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage scaled = resample(source, key.width(), key.height(), alpha);
+        byte[] encoded = alpha || jpegQuality == 0f ? encodePng(scaled) : encodeJpeg(scaled, jpegQuality);
+        Image result;
+        try {
+            result = encoded.length < originalSize ? Image.getInstance(encoded) : original;
+        } catch (BadElementException e) {
+            throw new IOException("Unable to embed the recompressed image " + key.path(), e);
+        }
+        cache.put(key, result, Math.min(encoded.length, originalSize));
+        return result;
+    }
+
+    /**
+     * Halves the image until the next step reaches the target, which keeps bilinear filtering from skipping source
+     * pixels on large reductions.
+     */
+    private static BufferedImage resample(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getSizeInBytes() {
+        return cache.getWeight();
+    }
+
+    private record Key(Path path, long lastModified, int width, int height) {
+    }
+
+    private static final class DefaultHolder {
+        private static final ImageOptimizer INSTANCE =
+                new ImageOptimizer(ImageCache.getDefault(), DEFAULT_TARGET_DPI, DEFAULT_JPEG_QUALITY, DEFAULT_MAX_BYTES);
+    }
+}
@@ -0,0 +1,219 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Represents the RenderedPdfCache class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.cache
+ * @class RenderedPdfCache
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Content-addressed cache of rendered PDFs with an in-memory LRU tier in front of a size-bounded disk
+ * directory.
+ * @notes <ul>
+ * <li>Keys are SHA-256 digests of the input HTML and the referenced assets, see {@link #key(String, Collection)}.</li>
+ * <li>Concurrent requests for the same key render once; the others wait for that render.</li>
+ * <li>The disk tier evicts least recently used files once it grows past its limit; hits refresh a file's
+ * modification time.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class RenderedPdfCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderedPdfCache.class);
+
+    private static final String SUFFIX = ".pdf";
+
+    private final WeightedLruCache<String, byte[]> memory;
+    private final SingleFlight<String, byte[]> renders = new SingleFlight<>();
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final Object diskLock = new Object();
+
+    private long diskBytes;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder diskEvictions = new LongAdder();
+
+    public RenderedPdfCache(long maxMemoryBytes, Path directory, long maxDiskBytes) throws IOException {
+        this.memory = new WeightedLruCache<>(maxMemoryBytes);
+        this.directory = Files.createDirectories(directory);
+        this.maxDiskBytes = maxDiskBytes;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(RenderedPdfCache::isCacheFile).toList()) {
+                diskBytes += Files.size(file);
+            }
+        }
+    }
+
+    /**
+     * Builds the cache key of a render.
+     *
+     * @param assetFingerprints one entry per referenced asset, e.g. its path, size and modification time
+     */
+    public static String key(String html, Collection<String> assetFingerprints) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(html.getBytes(StandardCharsets.UTF_8));
+            for (String asset : assetFingerprints) {
+                digest.update((byte) 0);
+                digest.update(asset.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the cached PDF for the key, rendering it with {@code renderer} when neither tier has it.
+     */
+    public byte[] get(String key, SingleFlight.Loader<byte[]> renderer) throws IOException {
+        byte[] pdf = memory.get(key);
+        if (pdf != null) {
+            memoryHits.increment();
+            return pdf;
+        }
+        return renders.execute(key, () -> {
+            byte[] stored = readFromDisk(key);
+            if (stored != null) {
+                diskHits.increment();
+                memory.put(key, stored, stored.length);
+                return stored;
+            }
+            misses.increment();
+            byte[] rendered = renderer.load();
+            memory.put(key, rendered, rendered.length);
+            writeToDisk(key, rendered);
+            return rendered;
+        });
+    }
+
+    public void invalidate(String key) throws IOException {
+        memory.invalidate(key);
+        synchronized (diskLock) {
+            Path file = directory.resolve(key + SUFFIX);
+            if (Files.exists(file)) {
+                diskBytes -= Files.size(file);
+                Files.delete(file);
+            }
+        }
+    }
+
+    private byte[] readFromDisk(String key) throws IOException {
+        Path file = directory.resolve(key + SUFFIX);
+        try {
+            byte[] pdf = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return pdf;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, byte[] pdf) {
+        if (pdf.length > maxDiskBytes) {
+            return;
+        }
+        Path file = directory.resolve(key + SUFFIX);
+        try {
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, pdf);
+            synchronized (diskLock) {
+                long previous = Files.exists(file) ? Files.size(file) : 0;
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                diskBytes += pdf.length - previous;
+                evictFromDisk();
+            }
+        } catch (IOException e) {
+            log.warn("Unable to store rendered PDF {} on disk", key, e);
+        }
+    }
+
+    private void evictFromDisk() throws IOException {
+        if (diskBytes <= maxDiskBytes) {
+            return;
+        }
+        List<Path> oldestFirst;
+        try (Stream<Path> files = Files.list(directory)) {
+            oldestFirst = files.filter(RenderedPdfCache::isCacheFile)
+                    .sorted(Comparator.comparing(RenderedPdfCache::lastModified))
+                    .toList();
+        }
+        for (Path file : oldestFirst) {
+            if (diskBytes <= maxDiskBytes) {
+                break;
+            }
+            long size = Files.size(file);
+            Files.delete(file);
+            diskBytes -= size;
+            diskEvictions.increment();
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static boolean isCacheFile(Path path) {
+        return path.getFileName().toString().endsWith(SUFFIX);
+    }
+
+    public long getMemoryHitCount() {
+        return memoryHits.sum();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getMemoryEvictionCount() {
+        return memory.getEvictionCount();
+    }
+
+    public long getDiskEvictionCount() {
+        return diskEvictions.sum();
+    }
+
+    public long getMemoryBytes() {
+        return memory.getWeight();
+    }
+
+    public long getDiskBytes() {
+        synchronized (diskLock) {
+            return diskBytes;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.cache;
+
+import com.lowagie.text.Image;
+
+/**
+ * Represents the ResourceCache class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.cache
+ * @class ResourceCache
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Byte-bounded caches of stylesheets and decoded images loaded by the renderer's user agent, keyed by
+ * resolved URI and shared across renders.
+ * @notes <ul>
+ * <li>Used by {@code CachingUserAgentCallback}; the two tiers are bounded separately.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class ResourceCache {
+
+    public static final long DEFAULT_MAX_CSS_BYTES = 4L * 1024 * 1024;
+    public static final long DEFAULT_MAX_IMAGE_BYTES = 32L * 1024 * 1024;
+
+    private final WeightedLruCache<String, byte[]> stylesheets;
+    private final WeightedLruCache<String, Image> images;
+
+    public ResourceCache(long maxCssBytes, long maxImageBytes) {
+        this.stylesheets = new WeightedLruCache<>(maxCssBytes);
+        this.images = new WeightedLruCache<>(maxImageBytes);
+    }
+
+    public static ResourceCache getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public WeightedLruCache<String, byte[]> getStylesheets() {
+        return stylesheets;
+    }
+
+    public WeightedLruCache<String, Image> getImages() {
+        return images;
+    }
+
+    public void clear() {
+        stylesheets.clear();
+        images.clear();
+    }
+
+    private static final class DefaultHolder {
+        private static final ResourceCache INSTANCE = new ResourceCache(DEFAULT_MAX_CSS_BYTES, DEFAULT_MAX_IMAGE_BYTES);
+    }
+}
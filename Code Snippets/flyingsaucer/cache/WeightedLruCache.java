@@ -0,0 +1,128 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents the WeightedLruCache class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.cache
+ * @class WeightedLruCache
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Least-recently-used cache bounded by the total weight (usually bytes) of its entries rather than by
+ * entry count, with hit, miss and eviction counters.
+ * @notes <ul>
+ * <li>All operations are synchronized on the cache; values are never loaded while the lock is held.</li>
+ * <li>An entry heavier than the whole cache is not stored.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public WeightedLruCache(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache weight limit must be positive: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * Like {@link #get(Object)}, but not counted as a hit or miss; for re-checking the cache inside a load that
+     * already counted its lookup.
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public synchronized void put(K key, V value, long entryWeight) {
+        Entry<V> previous = entries.remove(key);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, entryWeight));
+        weight += entryWeight;
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<K, Entry<V>> next = eldest.next();
+            if (next.getKey().equals(key)) {
+                continue;
+            }
+            weight -= next.getValue().weight;
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    private record Entry<V>(V value, long weight) {
+    }
+}
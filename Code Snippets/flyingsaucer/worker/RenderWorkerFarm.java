@@ -0,0 +1,354 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.worker;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.HtmlPdfRenderer;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderAbortedException;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderBudgetExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents the RenderWorkerFarm class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.worker
+ * @class RenderWorkerFarm
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Renders HTML to PDF in a pool of long-lived forked JVMs, so the static caches of Flying Saucer and
+ * OpenPDF are not shared between concurrent renders and a pathological render cannot stall the calling JVM.
+ * @notes <ul>
+ * <li>Workers run {@link RenderWorkerMain} on the caller's classpath and talk {@link WorkerProtocol} over their
+ * stdin and stdout; their stderr is inherited. They render with the {@link WorkerSettings} passed on their
+ * command line.</li>
+ * <li>A worker is recycled after {@code maxJobsPerWorker} renders, killed when a render exceeds the job timeout and
+ * replaced whenever it dies or fails a protocol exchange.</li>
+ * <li>Idle workers are pinged one at a time every 30 seconds; unresponsive ones are replaced, and workers that
+ * could not be started earlier are started again.</li>
+ * <li>Kill timers run on a thread of their own, so a hung worker is killed on time even during a health check.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class RenderWorkerFarm implements HtmlPdfRenderer, AutoCloseable {
+
+    public static final int DEFAULT_MAX_JOBS_PER_WORKER = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(RenderWorkerFarm.class);
+
+    private static final Duration HEALTH_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+    private static final Duration PING_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(2);
+
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+
+    private final int workerCount;
+    private final int maxJobsPerWorker;
+    private final Duration jobTimeout;
+    private final List<String> command;
+    private final BlockingQueue<Worker> idle;
+    private final AtomicInteger live = new AtomicInteger();
+    /**
+     * Only runs kill timers, which never block, so a timer always fires on time.
+     */
+    private final ScheduledExecutorService timers;
+
+    private final ScheduledExecutorService healthChecks;
+
+    private volatile boolean closed;
+
+    public RenderWorkerFarm(int workerCount, Duration jobTimeout) {
+        this(workerCount, DEFAULT_MAX_JOBS_PER_WORKER, jobTimeout, List.of());
+    }
+
+    public RenderWorkerFarm(int workerCount, int maxJobsPerWorker, Duration jobTimeout, List<String> jvmOptions) {
+        this(workerCount, maxJobsPerWorker, jobTimeout, jvmOptions, WorkerSettings.defaults());
+    }
+
+    /**
+     * Starts all workers before returning.
+     *
+     * @param jvmOptions options for the worker JVMs, e.g. {@code -Xmx512m}
+     * @param settings   fonts, base URL and render budget the workers render with
+     */
+    public RenderWorkerFarm(int workerCount, int maxJobsPerWorker, Duration jobTimeout, List<String> jvmOptions,
+                            WorkerSettings settings) {
+        if (workerCount < 1 || maxJobsPerWorker < 1) {
+            throw new IllegalArgumentException("Need at least one worker and one job per worker");
+        }
+        this.workerCount = workerCount;
+        this.maxJobsPerWorker = maxJobsPerWorker;
+        this.jobTimeout = jobTimeout;
+        this.command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(RenderWorkerMain.class.getName());
+        command.addAll(settings.toArguments());
+        this.idle = new ArrayBlockingQueue<>(workerCount);
+        this.timers = Executors.newSingleThreadScheduledExecutor(daemonThreads("pdf-worker-timer"));
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(daemonThreads("pdf-worker-health"));
+        replenish();
+        long interval = HEALTH_CHECK_INTERVAL.toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkIdleWorkers, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Renders the HTML in a worker JVM. Blocks while every worker is busy; the wait counts against the job timeout.
+     */
+    @Override
+    public long writePdf(String html, OutputStream out) throws IOException {
+        return writePdf(html, out, jobTimeout);
+    }
+
+    /**
+     * Like {@link #writePdf(String, OutputStream)}; the worker is killed once the render runs past the deadline or
+     * the job timeout, whichever is shorter, counted from the call. A render the worker aborts, e.g. for going over
+     * the render budget, is rethrown as the same {@link RenderAbortedException} or
+     * {@link RenderBudgetExceededException}.
+     */
+    @Override
+    public long writePdf(String html, OutputStream out, Duration deadline) throws IOException {
+        Duration timeout = deadline.compareTo(jobTimeout) < 0 ? deadline : jobTimeout;
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        Worker worker = acquire(timeout);
+        boolean reusable = false;
+        try {
+            Duration remaining = Duration.ofNanos(deadlineNanos - System.nanoTime());
+            if (remaining.isNegative() || remaining.isZero()) {
+                reusable = true;
+                throw new RenderAbortedException(RenderAbortedException.Reason.DEADLINE_EXCEEDED,
+                        "Deadline of " + timeout + " passed while waiting for a render worker");
+            }
+            WorkerProtocol.Frame response = call(worker, WorkerProtocol.RENDER, html.getBytes(StandardCharsets.UTF_8), remaining);
+            if (response.type() == WorkerProtocol.ABORTED) {
+                reusable = true;
+                throw WorkerProtocol.decodeAbort(response.payload());
+            }
+            if (response.type() == WorkerProtocol.ERROR) {
+                reusable = true;
+                throw new IOException("Render failed in " + worker.name + ": "
+                        + new String(response.payload(), StandardCharsets.UTF_8));
+            }
+            if (response.type() != WorkerProtocol.OK) {
+                throw new IOException("Unexpected response type " + response.type() + " from " + worker.name);
+            }
+            reusable = true;
+            out.write(response.payload());
+            out.flush();
+            return response.payload().length;
+        } finally {
+            release(worker, reusable);
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        healthChecks.shutdownNow();
+        timers.shutdownNow();
+        List<Worker> workers = new ArrayList<>();
+        idle.drainTo(workers);
+        workers.forEach(this::retire);
+    }
+
+    private Worker acquire(Duration timeout) throws IOException {
+        if (closed) {
+            throw new IOException("Render worker farm is closed");
+        }
+        try {
+            Worker worker = idle.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (worker == null) {
+                throw new RenderAbortedException(RenderAbortedException.Reason.DEADLINE_EXCEEDED,
+                        "No render worker became available within " + timeout);
+            }
+            return worker;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a render worker");
+        }
+    }
+
+    private void release(Worker worker, boolean reusable) {
+        worker.jobs++;
+        if (reusable && !closed && worker.process.isAlive() && worker.jobs < maxJobsPerWorker) {
+            idle.offer(worker);
+            return;
+        }
+        if (worker.jobs >= maxJobsPerWorker) {
+            log.debug("Recycling {} after {} jobs", worker.name, worker.jobs);
+        }
+        retire(worker);
+        replenish();
+    }
+
+    /**
+     * Sends one request and waits for its response. The worker is killed if it does not answer in time, which
+     * turns the blocked read into an exception.
+     */
+    private WorkerProtocol.Frame call(Worker worker, byte type, byte[] payload, Duration timeout) throws IOException {
+        ScheduledFuture<?> watchdog = timers.schedule(worker.process::destroyForcibly, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        try {
+            WorkerProtocol.write(worker.out, type, payload);
+            WorkerProtocol.Frame response = WorkerProtocol.read(worker.in);
+            if (response == null) {
+                throw new EOFException(worker.name + " exited");
+            }
+            return response;
+        } catch (IOException e) {
+            if (watchdog.isDone()) {
+                throw new RenderAbortedException(RenderAbortedException.Reason.DEADLINE_EXCEEDED,
+                        worker.name + " did not answer within " + timeout + " and was killed");
+            }
+            throw e;
+        } finally {
+            watchdog.cancel(false);
+        }
+    }
+
+    /**
+     * Pings the idle workers one at a time, so the others stay available to callers while the check runs.
+     */
+    private void checkIdleWorkers() {
+        Set<Worker> checked = Collections.newSetFromMap(new IdentityHashMap<>());
+        Worker worker;
+        while (!closed && (worker = idle.poll()) != null) {
+            if (!checked.add(worker)) {
+                // Every idle worker has been pinged; this one went back to the queue after its check
+                idle.offer(worker);
+                break;
+            }
+            boolean healthy;
+            try {
+                healthy = worker.process.isAlive()
+                        && call(worker, WorkerProtocol.PING, new byte[0], PING_TIMEOUT).type() == WorkerProtocol.OK;
+            } catch (IOException | RenderAbortedException e) {
+                log.warn("Health check of {} failed", worker.name, e);
+                healthy = false;
+            }
+            if (healthy && !closed) {
+                idle.offer(worker);
+            } else {
+                retire(worker);
+            }
+        }
+        replenish();
+    }
+
+    /**
+     * Starts workers until the farm is back at its configured size.
+     */
+    private synchronized void replenish() {
+        while (!closed && live.get() < workerCount) {
+            try {
+                idle.offer(start());
+                live.incrementAndGet();
+            } catch (IOException e) {
+                log.warn("Unable to start a render worker, retrying at the next health check", e);
+                return;
+            }
+        }
+    }
+
+    private Worker start() throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return new Worker("pdf-worker-" + WORKER_COUNTER.incrementAndGet(), process);
+    }
+
+    private void retire(Worker worker) {
+        live.decrementAndGet();
+        try {
+            if (worker.process.isAlive()) {
+                WorkerProtocol.write(worker.out, WorkerProtocol.SHUTDOWN);
+            }
+        } catch (IOException e) {
+            worker.process.destroyForcibly();
+        } finally {
+            // Closing stdin also tells the worker to exit; both pipes would otherwise stay open until collected
+            closeQuietly(worker.out);
+            closeQuietly(worker.in);
+        }
+        if (!worker.process.isAlive()) {
+            return;
+        }
+        // Give the worker a moment to exit on its own without holding up the caller
+        worker.process.onExit()
+                .orTimeout(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(timeout -> {
+                    worker.process.destroyForcibly();
+                    return worker.process;
+                });
+    }
+
+    private static void closeQuietly(Closeable stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Unable to close a worker stream", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Worker {
+
+        private final String name;
+        private final Process process;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+
+        /**
+         * Only touched by the thread that holds the worker.
+         */
+        private int jobs;
+
+        private Worker(String name, Process process) {
+            this.name = name;
+            this.process = process;
+            this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+    }
+}
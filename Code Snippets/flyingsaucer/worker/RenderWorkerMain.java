@@ -0,0 +1,97 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.worker;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.FontRegistry;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.HtmlToPdf;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderAbortedException;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RendererPool;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.TemplateRegistry;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ResourceCache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents the RenderWorkerMain class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.worker
+ * @class RenderWorkerMain
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Entry point of a forked render worker: reads {@link WorkerProtocol} requests from stdin, renders them
+ * with an in-process {@link HtmlToPdf} and answers on stdout.
+ * @notes <ul>
+ * <li>{@code System.out} is redirected to stderr before anything else runs, so log output can never corrupt the
+ * frame stream.</li>
+ * <li>Renders with the fonts, base URL and render budget the parent passes as {@link WorkerSettings} on the
+ * command line.</li>
+ * <li>Exits when stdin closes or a shutdown frame arrives, i.e. also when the parent JVM dies.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public final class RenderWorkerMain {
+
+    private RenderWorkerMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true, StandardCharsets.UTF_8));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+
+        HtmlToPdf htmlToPdf = htmlToPdf(WorkerSettings.fromArguments(args));
+        WorkerProtocol.Frame request;
+        while ((request = WorkerProtocol.read(in)) != null) {
+            switch (request.type()) {
+                case WorkerProtocol.PING -> WorkerProtocol.write(out, WorkerProtocol.OK);
+                case WorkerProtocol.RENDER -> render(htmlToPdf, new String(request.payload(), StandardCharsets.UTF_8), out);
+                case WorkerProtocol.SHUTDOWN -> {
+                    return;
+                }
+                default -> WorkerProtocol.write(out, WorkerProtocol.ERROR,
+                        ("Unknown request type " + request.type()).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Configured like the parent's renderer; one renderer is enough, the worker renders one job at a time.
+     */
+    private static HtmlToPdf htmlToPdf(WorkerSettings settings) throws IOException {
+        FontRegistry fonts = new FontRegistry();
+        for (String font : settings.fontPaths()) {
+            fonts.register(font);
+        }
+        RendererPool pool = new RendererPool(1, fonts, ResourceCache.getDefault(), settings.baseUrl());
+        HtmlToPdf htmlToPdf = new HtmlToPdf(pool, new TemplateRegistry());
+        htmlToPdf.setRenderBudget(settings.renderBudget());
+        return htmlToPdf;
+    }
+
+    private static void render(HtmlToPdf htmlToPdf, String html, DataOutputStream out) throws IOException {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try {
+            htmlToPdf.writePdf(html, pdf);
+        } catch (RenderAbortedException e) {
+            WorkerProtocol.write(out, WorkerProtocol.ABORTED, WorkerProtocol.encodeAbort(e));
+            return;
+        } catch (Exception e) {
+            String message = e.getClass().getName() + ": " + e.getMessage();
+            WorkerProtocol.write(out, WorkerProtocol.ERROR, message.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        WorkerProtocol.write(out, WorkerProtocol.OK, pdf.toByteArray());
+    }
+}
@@ -0,0 +1,118 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.worker;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderAbortedException;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderBudgetExceededException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Represents the WorkerProtocol class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.worker
+ * @class WorkerProtocol
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Length-prefixed frames exchanged between {@link RenderWorkerFarm} and {@link RenderWorkerMain} over
+ * the worker's stdin and stdout.
+ * @notes <ul>
+ * <li>A frame is a one byte type, a four byte big-endian length and the payload. Requests carry UTF-8 HTML,
+ * responses the PDF or a UTF-8 error message.</li>
+ * <li>A render stopped by the worker's {@code RenderGuard} is answered with an {@link #ABORTED} frame carrying the
+ * reason and, for budget limits, the limit and actual value, so the parent can rethrow the same exception.</li>
+ * <li>Every request is answered with exactly one response, so a worker handles one job at a time.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+final class WorkerProtocol {
+
+    static final byte RENDER = 1;
+    static final byte PING = 2;
+    static final byte SHUTDOWN = 3;
+
+    static final byte OK = 10;
+    static final byte ERROR = 11;
+    static final byte ABORTED = 12;
+
+    static final int MAX_FRAME_BYTES = 256 * 1024 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private WorkerProtocol() {
+    }
+
+    static void write(DataOutputStream out, byte type, byte[] payload) throws IOException {
+        out.writeByte(type);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.flush();
+    }
+
+    static void write(DataOutputStream out, byte type) throws IOException {
+        write(out, type, EMPTY);
+    }
+
+    /**
+     * @return the frame, or {@code null} when the stream ended cleanly between frames
+     */
+    static Frame read(DataInputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            return null;
+        }
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid worker frame length: " + length);
+        }
+        byte[] payload = length == 0 ? EMPTY : new byte[length];
+        try {
+            in.readFully(payload);
+        } catch (EOFException e) {
+            throw new EOFException("Worker stream ended inside a frame");
+        }
+        return new Frame((byte) type, payload);
+    }
+
+    static byte[] encodeAbort(RenderAbortedException e) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(e.getReason().name());
+            boolean budget = e instanceof RenderBudgetExceededException;
+            out.writeBoolean(budget);
+            if (budget) {
+                RenderBudgetExceededException exceeded = (RenderBudgetExceededException) e;
+                out.writeLong(exceeded.getLimit());
+                out.writeLong(exceeded.getActual());
+            } else {
+                out.writeUTF(String.valueOf(e.getMessage()));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static RenderAbortedException decodeAbort(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            RenderAbortedException.Reason reason;
+            try {
+                reason = RenderAbortedException.Reason.valueOf(in.readUTF());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown abort reason from worker", e);
+            }
+            if (in.readBoolean()) {
+                return new RenderBudgetExceededException(reason, in.readLong(), in.readLong());
+            }
+            return new RenderAbortedException(reason, in.readUTF());
+        }
+    }
+
+    record Frame(byte type, byte[] payload) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.worker;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.FontRegistry;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderBudget;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the WorkerSettings record in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.worker
+ * @class WorkerSettings
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Render configuration a {@link RenderWorkerFarm} hands to its worker JVMs on their command line, so a
+ * job renders in a worker the way it would in the parent.
+ * @notes <ul>
+ * <li>Fonts are passed as the paths registered in the parent, so fonts registered at runtime reach the workers
+ * too.</li>
+ * <li>{@code baseUrl} may be {@code null}, in which case relative URLs resolve against the worker's working
+ * directory, which it inherits from the parent.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public record WorkerSettings(RenderBudget renderBudget, List<String> fontPaths, String baseUrl) {
+
+    private static final String MAX_INPUT_BYTES = "--max-input-bytes=";
+    private static final String MAX_PAGES = "--max-pages=";
+    private static final String MAX_LAYOUT_TIME = "--max-layout-time=";
+    private static final String MAX_ALLOCATED_BYTES = "--max-allocated-bytes=";
+    private static final String FONT = "--font=";
+    private static final String BASE_URL = "--base-url=";
+
+    public WorkerSettings {
+        if (renderBudget == null || fontPaths == null) {
+            throw new IllegalArgumentException("Render budget and font paths are required");
+        }
+        fontPaths = List.copyOf(fontPaths);
+    }
+
+    /**
+     * What a bare {@code new HtmlToPdf()} in the parent uses: no budget, the fonts of the default
+     * {@link FontRegistry} and no base URL.
+     */
+    public static WorkerSettings defaults() {
+        return new WorkerSettings(RenderBudget.UNLIMITED, FontRegistry.getDefault().getFontPaths(), null);
+    }
+
+    List<String> toArguments() {
+        List<String> arguments = new ArrayList<>();
+        arguments.add(MAX_INPUT_BYTES + renderBudget.maxInputBytes());
+        arguments.add(MAX_PAGES + renderBudget.maxPages());
+        arguments.add(MAX_LAYOUT_TIME + renderBudget.maxLayoutTime());
+        arguments.add(MAX_ALLOCATED_BYTES + renderBudget.maxAllocatedBytes());
+        fontPaths.forEach(font -> arguments.add(FONT + font));
+        if (baseUrl != null) {
+            arguments.add(BASE_URL + baseUrl);
+        }
+        return arguments;
+    }
+
+    static WorkerSettings fromArguments(String[] arguments) {
+        RenderBudget budget = RenderBudget.UNLIMITED;
+        List<String> fonts = new ArrayList<>();
+        String baseUrl = null;
+        for (String argument : arguments) {
+            if (argument.startsWith(MAX_INPUT_BYTES)) {
+                budget = budget.withMaxInputBytes(Long.parseLong(value(argument, MAX_INPUT_BYTES)));
+            } else if (argument.startsWith(MAX_PAGES)) {
+                budget = budget.withMaxPages(Integer.parseInt(value(argument, MAX_PAGES)));
+            } else if (argument.startsWith(MAX_LAYOUT_TIME)) {
+                budget = budget.withMaxLayoutTime(Duration.parse(value(argument, MAX_LAYOUT_TIME)));
+            } else if (argument.startsWith(MAX_ALLOCATED_BYTES)) {
+                budget = budget.withMaxAllocatedBytes(Long.parseLong(value(argument, MAX_ALLOCATED_BYTES)));
+            } else if (argument.startsWith(FONT)) {
+                fonts.add(value(argument, FONT));
+            } else if (argument.startsWith(BASE_URL)) {
+                baseUrl = value(argument, BASE_URL);
+            } else {
+                throw new IllegalArgumentException("Unknown worker argument: " + argument);
+            }
+        }
+        return new WorkerSettings(budget, fonts, baseUrl);
+    }
+
+    private static String value(String argument, String option) {
+        return argument.substring(option.length());
+    }
+}
@@ -107,7 +107,7 @@ public class PDFFieldService {
     }
 
 
-    private PDAcroForm initializeAcroForm(PDDocument document) {
+    static PDAcroForm initializeAcroForm(PDDocument document) {
         PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
         if (acroForm == null) {
             acroForm = new PDAcroForm(document);
@@ -117,7 +117,7 @@ public class PDFFieldService {
         return acroForm;
     }
 
-    private void setupDefaultAppearance(PDAcroForm acroForm) {
+    private static void setupDefaultAppearance(PDAcroForm acroForm) {
         PDResources resources = new PDResources();
         resources.put(COSName.HELV, new PDType1Font(Standard14Fonts.FontName.HELVETICA));
         acroForm.setDefaultResources(resources);
@@ -0,0 +1,130 @@
+package com.io.chenosis.digitalcertificate.service.pdfbox.annotation;
+
+import com.io.chenosis.digitalcertificate.entity.Annotation;
+import com.io.chenosis.digitalcertificate.service.pdfbox.annotation.impl.FieldHandlerFactory;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.multipdf.LayerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+
+import java.awt.geom.AffineTransform;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the VariableDataCertificateService class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.pdfbox.annotation
+ * @class VariableDataCertificateService
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Variable-data mode for bulk certificates: the static template is laid out once, and every recipient
+ * only gets its fields stamped on top of it.
+ * @notes <ul>
+ * <li>Every page of the rendered template (e.g. the output of {@code HtmlToPdf.writePdf}) is imported once as a
+ * form XObject. A recipient's PDF draws those forms and applies the {@link FieldHandler}s for its annotations,
+ * using the same coordinates as {@link PDFFieldService}.</li>
+ * <li>The forms are shared by every recipient document, so their fonts and images are never copied again.</li>
+ * <li>Recipient pages are upright, without /Rotate, and start at the origin: a rotated or cropped template page is
+ * turned and shifted into place by its form. Field positions are in the coordinates of the page as displayed.</li>
+ * <li>Not thread safe: use one instance per thread; instances are cheap to create from the same template bytes.</li>
+ * </ul>
+ * @since 10/18/2026
+ */
+public class VariableDataCertificateService implements Closeable {
+
+    private final PDDocument template;
+
+    private final PDDocument forms;
+
+    private final List<PDFormXObject> pageForms = new ArrayList<>();
+
+    private final List<PDRectangle> pageBoxes = new ArrayList<>();
+
+    public VariableDataCertificateService(byte[] templatePdf) throws IOException {
+        this.template = Loader.loadPDF(templatePdf);
+        this.forms = new PDDocument();
+        LayerUtility layers = new LayerUtility(forms);
+        for (int i = 0; i < template.getNumberOfPages(); i++) {
+            PDPage templatePage = template.getPage(i);
+            PDRectangle visible = templatePage.getCropBox();
+            int rotation = Math.floorMod(templatePage.getRotation(), 360);
+            PDFormXObject form = layers.importPageAsForm(template, i);
+            // Our own transform instead of the one importPageAsForm derives, so the placement does not depend on it
+            form.setBBox(visible);
+            form.setMatrix(uprightTransform(visible, rotation));
+            pageForms.add(form);
+            pageBoxes.add(rotation % 180 == 0 ? new PDRectangle(visible.getWidth(), visible.getHeight())
+                    : new PDRectangle(visible.getHeight(), visible.getWidth()));
+        }
+    }
+
+    /**
+     * Maps the visible area of a template page onto an upright box at the origin, turned the way the page is
+     * displayed. The recipient page then needs neither a /Rotate entry nor a crop box offset of its own.
+     */
+    private static AffineTransform uprightTransform(PDRectangle visible, int rotation) {
+        float x = visible.getLowerLeftX();
+        float y = visible.getLowerLeftY();
+        float width = visible.getWidth();
+        float height = visible.getHeight();
+        return switch (rotation) {
+            case 90 -> new AffineTransform(0, -1, 1, 0, -y, x + width);
+            case 180 -> new AffineTransform(-1, 0, 0, -1, x + width, y + height);
+            case 270 -> new AffineTransform(0, 1, -1, 0, y + height, -x);
+            default -> AffineTransform.getTranslateInstance(-x, -y);
+        };
+    }
+
+    /**
+     * Creates the certificate of one recipient.
+     *
+     * @param fieldAnnotations the recipient's field values with their positions on the template pages
+     */
+    public byte[] stamp(List<Annotation> fieldAnnotations) throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+
+            for (int i = 0; i < pageForms.size(); i++) {
+                PDPage page = new PDPage(pageBoxes.get(i));
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.drawForm(pageForms.get(i));
+                }
+            }
+
+            PDAcroForm acroForm = PDFFieldService.initializeAcroForm(document);
+            for (Annotation fieldAnnotation : fieldAnnotations) {
+                FieldHandler handler = FieldHandlerFactory.getHandler(fieldAnnotation.getFieldType());
+                handler.handleField(document, acroForm, fieldAnnotation);
+            }
+
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    public int getPageCount() {
+        return pageForms.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            forms.close();
+        } finally {
+            template.close();
+        }
+    }
+}
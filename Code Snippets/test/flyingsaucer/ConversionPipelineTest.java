@@ -0,0 +1,141 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ImageCache;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSObjectKey;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Represents the ConversionPipelineTest class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class ConversionPipelineTest
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Runs documents through the {@link ConversionPipeline} stages and inspects the written PDF.
+ * @since 10/18/2026
+ */
+class ConversionPipelineTest {
+
+    private static final String PIXEL_BASE64 =
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==";
+
+    private static final String PIXEL = "data:image/png;base64," + PIXEL_BASE64;
+
+    private static final String REMOTE_IMAGE_HTML = "<html><body>"
+            + "<img src=\"https://assets.example.com/pixel.png\" style=\"width: 10px; height: 10px\"/></body></html>";
+
+    @Test
+    void renderChunkedEmbedsARepeatedImageOnce() throws IOException {
+        StringBuilder html = new StringBuilder("<html><body><table>");
+        for (int i = 0; i < 4; i++) {
+            html.append("<tr><td><img src=\"").append(PIXEL).append("\" style=\"width: 10px; height: 10px\"/></td></tr>");
+        }
+        html.append("</table></body></html>");
+        ConversionPipeline pipeline = new ConversionPipeline(new RendererPool(1, FontRegistry.getDefault()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        pipeline.renderChunked(() -> Jsoup.parse(html.toString()), out,
+                defaultFactory -> new ReplacedElementFactoryImpl(), new DocumentChunker(1));
+
+        try (PDDocument pdf = Loader.loadPDF(out.toByteArray())) {
+            assertTrue(pdf.getNumberOfPages() >= 4);
+            assertEquals(1, imageXObjects(pdf).size());
+        }
+    }
+
+    @Test
+    void prefetchLoadsRemoteImagesBeforeARendererIsBorrowed() throws IOException {
+        RendererPool pool = new RendererPool(1, FontRegistry.getDefault());
+        AtomicInteger fetches = new AtomicInteger();
+        AtomicInteger idleWhileFetching = new AtomicInteger(-1);
+        AssetFetcher fetcher = uri -> {
+            fetches.incrementAndGet();
+            idleWhileFetching.set(pool.getIdleCount());
+            return Base64.getDecoder().decode(PIXEL_BASE64);
+        };
+        ConversionPipeline pipeline = new ConversionPipeline(pool,
+                new AssetPrefetcher(fetcher, new ImageCache(1024 * 1024), Runnable::run));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        RenderMetrics metrics = pipeline.render(() -> Jsoup.parse(REMOTE_IMAGE_HTML), out,
+                defaultFactory -> new ReplacedElementFactoryImpl());
+
+        assertEquals(1, fetches.get());
+        assertEquals(1, idleWhileFetching.get());
+        assertTrue(metrics.getStages().containsKey(ConversionPipeline.Stage.PREFETCH));
+        try (PDDocument pdf = Loader.loadPDF(out.toByteArray())) {
+            assertEquals(1, imageXObjects(pdf).size());
+        }
+    }
+
+    @Test
+    void prefetchStopsWaitingAtTheDeadline() throws IOException {
+        RendererPool pool = new RendererPool(1, FontRegistry.getDefault());
+        CountDownLatch stalled = new CountDownLatch(1);
+        AssetFetcher fetcher = uri -> {
+            try {
+                stalled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Not reachable: " + uri);
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ConversionPipeline pipeline = new ConversionPipeline(pool,
+                    new AssetPrefetcher(fetcher, new ImageCache(1024 * 1024), executor));
+
+            RenderAbortedException e = assertThrows(RenderAbortedException.class,
+                    () -> pipeline.render(() -> Jsoup.parse(REMOTE_IMAGE_HTML), new ByteArrayOutputStream(),
+                            defaultFactory -> new ReplacedElementFactoryImpl(), RenderGuard.withDeadline(Duration.ofMillis(200))));
+
+            assertEquals(RenderAbortedException.Reason.DEADLINE_EXCEEDED, e.getReason());
+            assertEquals(1, pool.getIdleCount());
+        } finally {
+            stalled.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static Set<COSObjectKey> imageXObjects(PDDocument pdf) {
+        Set<COSObjectKey> images = new HashSet<>();
+        for (PDPage page : pdf.getPages()) {
+            COSDictionary xObjects = page.getResources().getCOSObject().getCOSDictionary(COSName.XOBJECT);
+            if (xObjects == null) {
+                continue;
+            }
+            for (COSName name : xObjects.keySet()) {
+                if (xObjects.getItem(name) instanceof COSObject reference) {
+                    images.add(reference.getKey());
+                }
+            }
+        }
+        return images;
+    }
+}
@@ -0,0 +1,51 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Represents the DocumentChunkerTest class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class DocumentChunkerTest
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Checks how {@link DocumentChunker} splits tables between rows.
+ * @since 10/18/2026
+ */
+class DocumentChunkerTest {
+
+    @Test
+    void splitTableKeepsCaptionAndFooterOnce() {
+        StringBuilder html = new StringBuilder("<html><body><table><caption>Register</caption>"
+                + "<thead><tr><th>Name</th></tr></thead><tfoot><tr><td>Total</td></tr></tfoot><tbody>");
+        for (int i = 0; i < 30; i++) {
+            html.append("<tr><td>Row ").append(i).append("</td></tr>");
+        }
+        html.append("</tbody></table></body></html>");
+
+        List<Document> chunks = new ArrayList<>();
+        Iterator<Document> it = new DocumentChunker(20).split(Jsoup.parse(html.toString()));
+        it.forEachRemaining(chunks::add);
+
+        assertTrue(chunks.size() > 1);
+        assertEquals(1, chunks.get(0).select("caption").size());
+        assertEquals(1, chunks.get(chunks.size() - 1).select("tfoot").size());
+        assertEquals(1, chunks.stream().mapToInt(chunk -> chunk.select("caption").size()).sum());
+        assertEquals(1, chunks.stream().mapToInt(chunk -> chunk.select("tfoot").size()).sum());
+        assertEquals(30, chunks.stream().mapToInt(chunk -> chunk.select("tbody > tr").size()).sum());
+        chunks.forEach(chunk -> assertEquals(1, chunk.select("thead").size()));
+    }
+}
@@ -0,0 +1,169 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.RenderedPdfCache;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ResourceCache;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Represents the HtmlToPdfTest class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class HtmlToPdfTest
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Renders real documents through the {@link HtmlToPdf} stream entry points and checks the output.
+ * @since 10/18/2026
+ */
+class HtmlToPdfTest {
+
+    static final String HTML = "<html><body><h1>Certificate</h1><p>Awarded to Sample Participant</p></body></html>";
+
+    private final HtmlToPdf htmlToPdf = new HtmlToPdf();
+
+    @TempDir
+    Path dir;
+
+    static void assertPdf(byte[] pdf) {
+        assertTrue(pdf.length > 0, "PDF is empty");
+        assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void writePdfWritesTheWholeDocumentAndLeavesTheStreamOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = htmlToPdf.writePdf(HTML, out);
+
+        assertPdf(out.toByteArray());
+        assertEquals(out.size(), written);
+        // Still usable after the render
+        out.write('\n');
+    }
+
+    @Test
+    void writePdfToChannel() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = htmlToPdf.writePdf(HTML, Channels.newChannel(out));
+
+        assertPdf(out.toByteArray());
+        assertEquals(out.size(), written);
+    }
+
+    @Test
+    void writePdfSpillToFile() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = htmlToPdf.writePdf(HTML, out, HtmlToPdf.OutputMode.SPILL_TO_FILE);
+
+        assertPdf(out.toByteArray());
+        assertEquals(out.size(), written);
+    }
+
+    @Test
+    void writeCombinedPdfWritesOneDocument() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = htmlToPdf.writeCombinedPdf(List.of(HTML, HTML, HTML), "media/none.png", out);
+
+        assertPdf(out.toByteArray());
+        assertEquals(out.size(), written);
+    }
+
+    @Test
+    void writeLargePdfWritesEveryChunk() throws IOException {
+        StringBuilder html = new StringBuilder("<html><body><table>");
+        for (int i = 0; i < 200; i++) {
+            html.append("<tr><td>Row ").append(i).append("</td></tr>");
+        }
+        html.append("</table></body></html>");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        htmlToPdf.writeLargePdf(html.toString(), out, new DocumentChunker(50));
+
+        assertPdf(out.toByteArray());
+    }
+
+    @Test
+    void convertHtmltoPdfWithImageWritesIntoTheStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        htmlToPdf.convertHtmltoPdfWithImage(HTML, "media/none.png", out);
+
+        assertPdf(out.toByteArray());
+    }
+
+    @Test
+    void writePdfCachedRendersAgainWhenALinkedStylesheetChanges() throws IOException {
+        Path css = dir.resolve("certificate.css");
+        Files.writeString(css, "h1 { color: black; }");
+        Files.setLastModifiedTime(css, FileTime.fromMillis(1_000_000L));
+        RendererPool pool = new RendererPool(1, FontRegistry.getDefault(), new ResourceCache(1024 * 1024, 1024 * 1024),
+                CachingUserAgentCallback.directoryBase(dir));
+        HtmlToPdf cachedHtmlToPdf = new HtmlToPdf(pool, new TemplateRegistry());
+        RenderedPdfCache cache = new RenderedPdfCache(1024 * 1024, dir.resolve("cache"), 1024 * 1024);
+        cachedHtmlToPdf.setRenderedPdfCache(cache);
+        String html = "<html><head><link rel=\"stylesheet\" href=\"certificate.css\"/></head>"
+                + "<body><h1>Certificate</h1></body></html>";
+
+        cachedHtmlToPdf.writePdfCached(html, new ByteArrayOutputStream());
+        cachedHtmlToPdf.writePdfCached(html, new ByteArrayOutputStream());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getMemoryHitCount());
+
+        Files.writeString(css, "h1 { color: red; }");
+        Files.setLastModifiedTime(css, FileTime.fromMillis(2_000_000L));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cachedHtmlToPdf.writePdfCached(html, out);
+
+        assertEquals(2, cache.getMissCount());
+        assertPdf(out.toByteArray());
+    }
+
+    @Test
+    void writePdfPicksUpAnEditedStylesheet() throws IOException {
+        Path css = dir.resolve("certificate.css");
+        Files.writeString(css, "@page { size: 100mm 50mm; margin: 0; }");
+        Files.setLastModifiedTime(css, FileTime.fromMillis(1_000_000L));
+        RendererPool pool = new RendererPool(1, FontRegistry.getDefault(), new ResourceCache(1024 * 1024, 1024 * 1024),
+                CachingUserAgentCallback.directoryBase(dir));
+        HtmlToPdf pooledHtmlToPdf = new HtmlToPdf(pool, new TemplateRegistry());
+        String html = "<html><head><link rel=\"stylesheet\" href=\"certificate.css\"/></head>"
+                + "<body><h1>Certificate</h1></body></html>";
+        ByteArrayOutputStream before = new ByteArrayOutputStream();
+        pooledHtmlToPdf.writePdf(html, before);
+
+        Files.writeString(css, "@page { size: 50mm 100mm; margin: 0; }");
+        Files.setLastModifiedTime(css, FileTime.fromMillis(2_000_000L));
+        ByteArrayOutputStream after = new ByteArrayOutputStream();
+        pooledHtmlToPdf.writePdf(html, after);
+
+        // Same renderer, shared resource cache: only the new modification time tells them apart
+        assertTrue(pageWidth(before.toByteArray()) > pageWidth(after.toByteArray()));
+    }
+
+    private static float pageWidth(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            return document.getPage(0).getMediaBox().getWidth();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.cache.ResourceCache;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Represents the TemplateRegistryTest class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer
+ * @class TemplateRegistryTest
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Renders compiled templates through {@link HtmlToPdf} and checks that their resources resolve.
+ * @since 10/18/2026
+ */
+class TemplateRegistryTest {
+
+    /**
+     * 100mm x 50mm in PDF points.
+     */
+    private static final float PAGE_WIDTH = 283.46f;
+    private static final float PAGE_HEIGHT = 141.73f;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void relativeStylesheetResolvesAgainstThePoolBase() throws IOException {
+        Files.writeString(dir.resolve("certificate.css"), "@page { size: 100mm 50mm; margin: 0; }");
+        RendererPool pool = new RendererPool(1, FontRegistry.getDefault(), new ResourceCache(1024 * 1024, 1024 * 1024),
+                CachingUserAgentCallback.directoryBase(dir));
+        HtmlToPdf htmlToPdf = new HtmlToPdf(pool, new TemplateRegistry());
+        Path output = dir.resolve("certificate.pdf");
+
+        htmlToPdf.convertTemplateToPdf("certificate",
+                "<html><head><link rel=\"stylesheet\" href=\"certificate.css\"/></head><body><p>${name}</p></body></html>",
+                Map.of("name", "Sample Participant"), output.toString());
+
+        // The page size only comes from the linked stylesheet
+        try (PDDocument pdf = Loader.loadPDF(output.toFile())) {
+            PDRectangle page = pdf.getPage(0).getMediaBox();
+            assertEquals(PAGE_WIDTH, page.getWidth(), 1f);
+            assertEquals(PAGE_HEIGHT, page.getHeight(), 1f);
+        }
+    }
+}
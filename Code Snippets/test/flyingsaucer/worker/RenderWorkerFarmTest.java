@@ -0,0 +1,104 @@
+package com.io.chenosis.digitalcertificate.service.flyingsaucer.worker;
+
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.CachingUserAgentCallback;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderAbortedException;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderBudget;
+import com.io.chenosis.digitalcertificate.service.flyingsaucer.RenderBudgetExceededException;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Represents the RenderWorkerFarmTest class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.flyingsaucer.worker
+ * @class RenderWorkerFarmTest
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Round trips through real forked worker JVMs started by {@link RenderWorkerFarm}.
+ * @since 10/18/2026
+ */
+class RenderWorkerFarmTest {
+
+    private static final String HTML = "<html><body><h1>Certificate</h1><p>Awarded to Sample Participant</p></body></html>";
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rendersInAWorkerAndRecyclesIt() throws IOException {
+        try (RenderWorkerFarm farm = new RenderWorkerFarm(1, 2, TIMEOUT, List.of())) {
+            // Three jobs with two per worker: the third runs in a replacement worker
+            for (int i = 0; i < 3; i++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+                long written = farm.writePdf(HTML, out);
+
+                assertEquals("%PDF", new String(out.toByteArray(), 0, 4, StandardCharsets.US_ASCII));
+                assertEquals(out.size(), written);
+            }
+            assertEquals(1, farm.getIdleCount());
+        }
+    }
+
+    @Test
+    void closedFarmRejectsJobs() {
+        RenderWorkerFarm farm = new RenderWorkerFarm(1, TIMEOUT);
+        farm.close();
+
+        assertThrows(IOException.class, () -> farm.writePdf(HTML, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void workerEnforcesTheParentsBudgetAndReportsTheReason() throws IOException {
+        WorkerSettings settings = new WorkerSettings(RenderBudget.UNLIMITED.withMaxPages(1), List.of(), null);
+        String twoPages = "<html><body><div style=\"page-break-after: always\">One</div><div>Two</div></body></html>";
+        try (RenderWorkerFarm farm = new RenderWorkerFarm(1, 10, TIMEOUT, List.of(), settings)) {
+            RenderBudgetExceededException e = assertThrows(RenderBudgetExceededException.class,
+                    () -> farm.writePdf(twoPages, new ByteArrayOutputStream()));
+
+            assertEquals(RenderAbortedException.Reason.TOO_MANY_PAGES, e.getReason());
+            assertEquals(1, e.getLimit());
+            // The worker is fine and goes back to the pool
+            assertEquals(1, farm.getIdleCount());
+        }
+    }
+
+    @Test
+    void workerResolvesRelativeUrlsAgainstTheParentsBaseUrl() throws IOException {
+        Files.writeString(dir.resolve("certificate.css"), "@page { size: 100mm 50mm; margin: 0; }");
+        WorkerSettings settings = new WorkerSettings(RenderBudget.UNLIMITED, List.of(),
+                CachingUserAgentCallback.directoryBase(dir));
+        String html = "<html><head><link rel=\"stylesheet\" href=\"certificate.css\"/></head><body><p>Certificate</p></body></html>";
+        try (RenderWorkerFarm farm = new RenderWorkerFarm(1, 10, TIMEOUT, List.of(), settings)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            farm.writePdf(html, out);
+
+            try (PDDocument pdf = Loader.loadPDF(out.toByteArray())) {
+                PDRectangle page = pdf.getPage(0).getMediaBox();
+                assertEquals(283.46f, page.getWidth(), 1f);
+                assertEquals(141.73f, page.getHeight(), 1f);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.io.chenosis.digitalcertificate.service.pdfbox.annotation;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Represents the VariableDataCertificateServiceTest class in the chenosis-digital-certificate project.
+ *
+ * @author Kashan Asim
+ * @version 1.0
+ * @project chenosis-digital-certificate
+ * @module com.io.chenosis.digitalcertificate.service.pdfbox.annotation
+ * @class VariableDataCertificateServiceTest
+ * @lastModifiedBy Kashan.Asim
+ * @lastModifiedDate 10/18/2026
+ * @license Licensed under the Apache License, Version 2.0
+ * @description Checks that stamped certificates look like the template pages they are drawn from.
+ * @since 10/18/2026
+ */
+class VariableDataCertificateServiceTest {
+
+    @Test
+    void rotatedAndCroppedTemplatePageIsReproducedUpright() throws IOException {
+        byte[] template = template(90);
+
+        byte[] stamped;
+        try (VariableDataCertificateService service = new VariableDataCertificateService(template)) {
+            stamped = service.stamp(List.of());
+        }
+
+        try (PDDocument expected = Loader.loadPDF(template); PDDocument actual = Loader.loadPDF(stamped)) {
+            PDPage page = actual.getPage(0);
+            assertEquals(0, page.getRotation());
+            assertEquals(0f, page.getMediaBox().getLowerLeftX());
+            assertEquals(0f, page.getMediaBox().getLowerLeftY());
+            assertEquals(80f, page.getMediaBox().getWidth(), 0.01f);
+            assertEquals(160f, page.getMediaBox().getHeight(), 0.01f);
+            assertLooksAlike(new PDFRenderer(expected).renderImage(0), new PDFRenderer(actual).renderImage(0));
+        }
+    }
+
+    @Test
+    void everyRotationKeepsTheDisplayedPage() throws IOException {
+        for (int rotation : new int[]{0, 180, 270}) {
+            byte[] template = template(rotation);
+            byte[] stamped;
+            try (VariableDataCertificateService service = new VariableDataCertificateService(template)) {
+                stamped = service.stamp(List.of());
+            }
+            try (PDDocument expected = Loader.loadPDF(template); PDDocument actual = Loader.loadPDF(stamped)) {
+                assertLooksAlike(new PDFRenderer(expected).renderImage(0), new PDFRenderer(actual).renderImage(0));
+            }
+        }
+    }
+
+    /**
+     * A 200 x 100 page cropped to 160 x 80, with a dark block in the lower left corner of the visible area.
+     */
+    private static byte[] template(int rotation) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage(new PDRectangle(200, 100));
+            page.setCropBox(new PDRectangle(20, 10, 160, 80));
+            page.setRotation(rotation);
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.addRect(20, 10, 40, 20);
+                content.fill();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static void assertLooksAlike(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        int dark = 0;
+        int mismatches = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                boolean expectedDark = isDark(expected.getRGB(x, y));
+                if (expectedDark) {
+                    dark++;
+                }
+                if (expectedDark != isDark(actual.getRGB(x, y))) {
+                    mismatches++;
+                }
+            }
+        }
+        assertTrue(dark > 0, "Template renders blank");
+        // Anti-aliased edges may differ by a pixel
+        assertTrue(mismatches < dark / 10, mismatches + " of " + dark + " dark pixels differ");
+    }
+
+    private static boolean isDark(int rgb) {
+        int r = (rgb >> 16) & 0xff;
+        int g = (rgb >> 8) & 0xff;
+        int b = rgb & 0xff;
+        return r + g + b < 3 * 128;
+    }
+}